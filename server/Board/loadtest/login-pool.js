@@ -0,0 +1,77 @@
+// 로그인이 몰릴 때 커넥션 풀 점유를 보는 k6 스크립트 (local 프로필, admin@admin.com 으로 /actuator 조회)
+//
+// 1. ./gradlew bootRun --args='--spring.profiles.active=local --rate-limit.enabled=false'
+// 2. k6 run -e LABEL=after loadtest/login-pool.js
+//    (변경 전 커밋에서도 같은 방법으로 실행해서 LABEL=before 결과와 비교)
+// 3. 끝날 때 /actuator/metrics 의 hikaricp.connections.usage(커넥션 점유 시간), .acquire(대기 시간),
+//    .pending 을 출력하고 build/loadtest-login-<LABEL>.json 에 k6 요약을 남김
+//
+// 로그인은 BCrypt 동안 커넥션을 잡지 않으므로 usage 의 평균/최대가 BCrypt 시간(수십 ms)보다 작아야 하고
+// 같이 섞인 GET /member 의 p95 가 로그인 부하에 덜 밀려야 함
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const LABEL = __ENV.LABEL || 'run';
+const VUS = parseInt(__ENV.VUS || '300');
+const LOGIN_RATIO = parseFloat(__ENV.LOGIN_RATIO || '0.5');
+
+export const options = {
+    vus: VUS,
+    duration: __ENV.DURATION || '1m',
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+const MEMBER = { email: 'loadtest@loadtest.com', password: 'loadtest', username: 'loadtest' };
+
+function login(email, password) {
+    return http.post(`${BASE_URL}/auth/login`, JSON.stringify({ email, password }),
+        Object.assign({ tags: { name: '/auth/login' } }, JSON_HEADERS));
+}
+
+export function setup() {
+    http.post(`${BASE_URL}/auth/signup`, JSON.stringify(MEMBER), JSON_HEADERS);
+    const user = login(MEMBER.email, MEMBER.password);
+    const admin = login('admin@admin.com', '1234');
+    check(user, { 'login 200': (r) => r.status === 200 });
+    return { accessToken: user.json('accessToken'), adminToken: admin.json('accessToken') };
+}
+
+export default function (data) {
+    if (Math.random() < LOGIN_RATIO) {
+        // 대기열이 가득 차면 503 LOGIN_BUSY 가 정상 응답
+        const res = login(MEMBER.email, MEMBER.password);
+        check(res, { 'login 200 or 503': (r) => r.status === 200 || r.status === 503 });
+    } else {
+        const res = http.get(`${BASE_URL}/member`,
+            { headers: { Authorization: `Bearer ${data.accessToken}` }, tags: { name: '/member' } });
+        check(res, { 'member 200': (r) => r.status === 200 });
+    }
+}
+
+function metric(data, name) {
+    const res = http.get(`${BASE_URL}/actuator/metrics/${name}`,
+        { headers: { Authorization: `Bearer ${data.adminToken}` } });
+    if (res.status !== 200) {
+        return `${name} = (status ${res.status})`;
+    }
+    const values = res.json('measurements').map((m) => `${m.statistic}=${m.value.toFixed(4)}`);
+    return `${name} : ${values.join(', ')}`;
+}
+
+export function teardown(data) {
+    console.log(`[${LABEL}] ${metric(data, 'hikaricp.connections.usage')}`);
+    console.log(`[${LABEL}] ${metric(data, 'hikaricp.connections.acquire')}`);
+    console.log(`[${LABEL}] ${metric(data, 'hikaricp.connections.pending')}`);
+}
+
+export function handleSummary(data) {
+    return {
+        [`build/loadtest-login-${LABEL}.json`]: JSON.stringify(data, null, 2),
+        stdout: `\n[${LABEL}] reqs/s = ${data.metrics.http_reqs.values.rate.toFixed(1)}, `
+            + `p95 = ${data.metrics.http_req_duration.values['p(95)'].toFixed(1)}ms, `
+            + `failed = ${(data.metrics.http_req_failed.values.rate * 100).toFixed(2)}%\n`,
+    };
+}
@@ -0,0 +1,68 @@
+// 플랫폼 쓰레드(Tomcat 200 쓰레드 풀)와 가상 쓰레드 모드의 처리량 비교용 k6 스크립트
+//
+// 1. 플랫폼 쓰레드 : ./gradlew bootRun --args='--rate-limit.enabled=false'
+//    가상 쓰레드   : ./gradlew bootRun -PvirtualThreads --args='--rate-limit.enabled=false'
+//    (사용자 하나로 요청하므로 요청 수 제한은 꺼야 함, 두 모드 모두 같은 DB, 같은 Hikari 풀 크기로 실행)
+// 2. k6 run -e MODE=platform loadtest/thread-mode.js
+//    k6 run -e MODE=virtual  loadtest/thread-mode.js
+// 3. 결과의 http_reqs(초당 요청 수), http_req_duration p(95)/p(99), http_req_failed 를 비교
+//    -> build/loadtest-<MODE>.json 에 요약을 남김
+//
+// GET /member 는 JwtFilter -> MemberService -> MemberRepository(MySQL) 를 거치는 요청
+// GET /address/address.do 는 카카오 API 를 호출하므로 외부 호출 대기도 같이 보려면 ADDRESS_RATIO 를 0 보다 크게
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'platform';
+const MAX_VUS = parseInt(__ENV.MAX_VUS || '2000');
+const ADDRESS_RATIO = parseFloat(__ENV.ADDRESS_RATIO || '0');
+
+export const options = {
+    scenarios: {
+        ramp: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 200 },     // 플랫폼 쓰레드 풀 크기까지
+                { duration: '30s', target: MAX_VUS }, // 쓰레드 풀보다 훨씬 많은 동시 요청
+                { duration: '2m', target: MAX_VUS },
+                { duration: '10s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    tags: { mode: MODE },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+// 부하 테스트용 사용자로 가입(이미 있으면 무시)하고 엑세스 토큰을 받아서 모든 VU 가 같이 사용
+export function setup() {
+    const member = { email: 'loadtest@loadtest.com', password: 'loadtest', username: 'loadtest' };
+    http.post(`${BASE_URL}/auth/signup`, JSON.stringify(member), JSON_HEADERS);
+
+    const res = http.post(`${BASE_URL}/auth/login`,
+        JSON.stringify({ email: member.email, password: member.password }), JSON_HEADERS);
+    check(res, { 'login 200': (r) => r.status === 200 });
+    return { accessToken: res.json('accessToken') };
+}
+
+export default function (data) {
+    const params = { headers: { Authorization: `Bearer ${data.accessToken}` } };
+    const path = Math.random() < ADDRESS_RATIO ? '/address/address.do' : '/member';
+    const res = http.get(`${BASE_URL}${path}`, Object.assign(params, { tags: { name: path } }));
+    check(res, { 'status 200': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+    return {
+        [`build/loadtest-${MODE}.json`]: JSON.stringify(data, null, 2),
+        stdout: `\n[${MODE}] reqs/s = ${data.metrics.http_reqs.values.rate.toFixed(1)}, `
+            + `p95 = ${data.metrics.http_req_duration.values['p(95)'].toFixed(1)}ms, `
+            + `p99 = ${data.metrics.http_req_duration.values['p(99)'].toFixed(1)}ms, `
+            + `failed = ${(data.metrics.http_req_failed.values.rate * 100).toFixed(2)}%\n`,
+    };
+}
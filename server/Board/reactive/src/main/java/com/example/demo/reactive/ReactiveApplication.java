@@ -0,0 +1,18 @@
+package com.example.demo.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * ReactiveApplication 설명 : WebFlux + R2DBC 로 동작하는 인증(/auth), 멤버(/member) API
+ * 서블릿 버전(DemoApplication)과 같은 DB, 같은 토큰을 사용하고 응답(상태코드, 에러 바디)도 같게 맞춤
+ * 스캔은 com.example.demo.reactive 아래만 하고, 루트 프로젝트의 토큰 클래스는 ReactiveTokenConfig 에서 빈으로 만든다.
+ **/
+@SpringBootApplication
+public class ReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.example.demo.reactive.config;
+
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * ManagementPortExchangeMatcher 설명 : 서블릿 버전의 ManagementPortRequestMatcher 와 같이 관리 포트로 들어온 요청인지 검사
+ * 관리 포트를 따로 두지 않으면 아무 요청도 매치하지 않음
+ **/
+@Component
+public class ManagementPortExchangeMatcher implements ServerWebExchangeMatcher, ApplicationListener<WebServerInitializedEvent> {
+
+    private static final String MANAGEMENT_NAMESPACE = "management";
+
+    private volatile int port = -1;
+
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if (MANAGEMENT_NAMESPACE.equals(event.getApplicationContext().getServerNamespace())) {
+            port = event.getWebServer().getPort();
+        }
+    }
+
+    @Override
+    public Mono<MatchResult> matches(ServerWebExchange exchange) {
+        int port = this.port;
+        InetSocketAddress localAddress = exchange.getRequest().getLocalAddress();
+        return port > 0 && localAddress != null && localAddress.getPort() == port
+                ? MatchResult.match()
+                : MatchResult.notMatch();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.reactive.config;
+
+import com.example.demo.exceptionhandler.AuthorityExceptionType;
+import com.example.demo.exceptionhandler.MemberExceptionType;
+import com.example.demo.jwt.AuthMetrics;
+import com.example.demo.jwt.RateLimiters;
+import com.example.demo.jwt.TokenProvider;
+import com.example.demo.jwt.VerifiedTokenCache;
+import com.example.demo.reactive.exceptionhandler.ReactiveErrorResponseWriter;
+import com.example.demo.reactive.jwt.JwtWebFilter;
+import com.example.demo.reactive.jwt.RateLimitWebFilter;
+import com.example.demo.reactive.jwt.ReactiveTokenDenylist;
+import com.example.demo.reactive.service.ReactiveMemberDetailsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.NegatedServerWebExchangeMatcher;
+
+/**
+ * ReactiveSecurityConfig : 서블릿 버전 SecurityConfig 와 같은 접근 규칙, 같은 거절 응답
+ * 세션을 사용하지 않으므로 SecurityContext 는 저장하지 않고 (NoOp) 요청마다 JwtWebFilter 가 토큰으로 만든다.
+ **/
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+@Configuration
+@RequiredArgsConstructor
+public class ReactiveSecurityConfig {
+
+    private final TokenProvider tokenProvider;
+    private final ReactiveMemberDetailsService memberDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ReactiveTokenDenylist tokenDenylist;
+    private final ReactiveErrorResponseWriter errorResponseWriter;
+    private final AuthMetrics authMetrics;
+    private final RateLimiters rateLimiters;
+    private final ManagementPortExchangeMatcher managementPortExchangeMatcher;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        // 관리 포트로 들어온 요청(actuator)은 이 체인을 거치지 않음 -> Prometheus 가 토큰 없이 수집 (관리 포트는 내부망에서만 열 것)
+        http.securityMatcher(new NegatedServerWebExchangeMatcher(managementPortExchangeMatcher))
+                .csrf().disable()
+                .httpBasic().disable()
+                .formLogin().disable()
+                .logout().disable()
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+
+                // JwtAuthenticationEntryPoint, JwtAccessDeniedHandler 와 같은 응답
+                .exceptionHandling()
+                .authenticationEntryPoint((exchange, e) -> errorResponseWriter.write(
+                        exchange.getResponse(), HttpStatus.UNAUTHORIZED, MemberExceptionType.NOT_FOUND_AUTHENTICATION))
+                .accessDeniedHandler((exchange, e) -> errorResponseWriter.write(
+                        exchange.getResponse(), HttpStatus.FORBIDDEN, AuthorityExceptionType.ACCESS_DENIED))
+
+                .and()
+                .authorizeExchange()
+                .pathMatchers("/auth/**").permitAll()
+                .pathMatchers("/actuator/**").hasRole("ADMIN") // 관리 포트를 따로 두지 않은 경우의 actuator
+                .anyExchange().authenticated()   // 나머지 API 는 전부 인증 필요
+
+                .and()
+                .addFilterAt(new JwtWebFilter(tokenProvider, memberDetailsService, verifiedTokenCache,
+                        tokenDenylist, errorResponseWriter, authMetrics), SecurityWebFiltersOrder.AUTHENTICATION);
+
+        // 요청 수 제한 : /auth/** 는 토큰 검사 전에 IP 로, 나머지는 JwtWebFilter 가 인증한 뒤 이메일로 제한 (429 + Retry-After)
+        if (rateLimiters.isEnabled()) {
+            http.addFilterBefore(RateLimitWebFilter.byClientIp(rateLimiters.getAuth(), errorResponseWriter), SecurityWebFiltersOrder.AUTHENTICATION)
+                    .addFilterAfter(RateLimitWebFilter.byPrincipal(rateLimiters.getApi(), errorResponseWriter), SecurityWebFiltersOrder.AUTHENTICATION);
+        }
+        return http.build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.reactive.config;
+
+import com.example.demo.jwt.AuthMetrics;
+import com.example.demo.jwt.RateLimiters;
+import com.example.demo.jwt.TokenProvider;
+import com.example.demo.jwt.VerifiedTokenCache;
+import com.example.demo.reactive.jwt.ReactiveMemberEmailResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * ReactiveTokenConfig : 루트 프로젝트(서블릿 버전)의 토큰, 메트릭, 요청 수 제한 객체를 같은 설정값으로 빈으로 만든다.
+ * 컴포넌트 스캔은 com.example.demo.reactive 아래만 하므로 여기서 직접 생성
+ * 토큰 형식, 검증 엔진, 캐시, 메트릭 이름이 서블릿 버전과 같으므로 두 버전이 발급한 토큰을 서로 그대로 사용할 수 있다.
+ **/
+@Configuration
+public class ReactiveTokenConfig {
+
+    @Bean
+    public TokenProvider tokenProvider(@Value("${jwt.secret}") String secretKey,
+                                       @Value("${jwt.access-token-expire-time}") long accessTime,
+                                       @Value("${jwt.refresh-token-expire-time}") long refreshTime,
+                                       @Value("${jwt.verifier:jjwt}") String verifier,
+                                       @Value("${jwt.compact-claims:false}") boolean compactClaims,
+                                       ReactiveMemberEmailResolver memberEmailResolver) {
+        return new TokenProvider(secretKey, accessTime, refreshTime, verifier, compactClaims, memberEmailResolver);
+    }
+
+    @Bean
+    public VerifiedTokenCache verifiedTokenCache(@Value("${jwt.cache.enabled:false}") boolean enabled,
+                                                 @Value("${jwt.cache.max-memory:16MB}") DataSize maxMemory) {
+        return new VerifiedTokenCache(enabled, maxMemory);
+    }
+
+    @Bean
+    public AuthMetrics authMetrics() {
+        return new AuthMetrics();
+    }
+
+    @Bean
+    public RateLimiters rateLimiters(@Value("${rate-limit.enabled:true}") boolean enabled,
+                                     @Value("${rate-limit.idle-timeout:600000}") long idleTimeout,
+                                     @Value("${rate-limit.auth.capacity:20}") int authCapacity,
+                                     @Value("${rate-limit.auth.refill-per-second:5}") double authRefill,
+                                     @Value("${rate-limit.api.capacity:100}") int apiCapacity,
+                                     @Value("${rate-limit.api.refill-per-second:50}") double apiRefill) {
+        return new RateLimiters(enabled, idleTimeout, authCapacity, authRefill, apiCapacity, apiRefill);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return PasswordEncoderFactories.createDelegatingPasswordEncoder(); // 서블릿 버전과 같은 인코더
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.reactive.controller;
+
+import com.example.demo.model.dto.LoginReqDTO;
+import com.example.demo.model.dto.MemberReqDTO;
+import com.example.demo.model.dto.MemberRespDTO;
+import com.example.demo.model.dto.TokenDTO;
+import com.example.demo.model.dto.TokenReqDTO;
+import com.example.demo.reactive.service.ReactiveAuthService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/auth")
+public class AuthController {
+
+    private final ReactiveAuthService authService;
+
+    @PostMapping("/signup")
+    public Mono<MemberRespDTO> signup(@RequestBody MemberReqDTO memberRequestDto) {
+        log.debug("memberRequestDto = {}", memberRequestDto);
+        return authService.signup(memberRequestDto);
+    }
+
+    @PostMapping("/login")
+    public Mono<TokenDTO> login(@RequestBody LoginReqDTO loginReqDTO) {
+        return authService.login(loginReqDTO);
+    }
+
+    @PostMapping("/reissue")
+    public Mono<TokenDTO> reissue(@RequestBody TokenReqDTO tokenRequestDto) {
+        return authService.reissue(tokenRequestDto);
+    }
+
+    // 엑세스 토큰을 만료 전에 폐기하고 리프레시 토큰을 삭제
+    @PostMapping("/logout")
+    public Mono<Void> logout(@RequestBody TokenReqDTO tokenRequestDto) {
+        return authService.logout(tokenRequestDto);
+    }
+}
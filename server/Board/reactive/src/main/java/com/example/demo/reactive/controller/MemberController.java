@@ -0,0 +1,43 @@
+package com.example.demo.reactive.controller;
+
+import com.example.demo.model.dto.MemberRespDTO;
+import com.example.demo.model.dto.MemberUpdateDTO;
+import com.example.demo.reactive.service.ReactiveMemberService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/member")
+public class MemberController {
+    private final ReactiveMemberService memberService;
+
+    @GetMapping("")
+    public Mono<MemberRespDTO> getMyInfo() {
+        return memberService.getMyInfo();
+    }
+
+    @GetMapping("/{email}")
+    public Mono<MemberRespDTO> getMemberInfo(@PathVariable String email) {
+        return memberService.getMemberInfo(email);
+    }
+
+    @PutMapping("")
+    public Mono<Void> updateMember(@RequestBody MemberUpdateDTO dto) {
+        return memberService.updateMemberInfo(dto);
+    }
+
+    // @EnableReactiveMethodSecurity 는 Publisher 를 리턴하는 메서드만 지원
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/admintest")
+    public Mono<String> adminTest() {
+        return Mono.just("ADMIN OK!");
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.reactive.exceptionhandler;
+
+import com.example.demo.exceptionhandler.AuthorityExceptionType;
+import com.example.demo.exceptionhandler.BaseExceptionType;
+import com.example.demo.exceptionhandler.ErrorResult;
+import com.example.demo.exceptionhandler.InternalServerExceptionType;
+import com.example.demo.exceptionhandler.JwtExceptionType;
+import com.example.demo.exceptionhandler.MemberExceptionType;
+import com.example.demo.exceptionhandler.RequestExceptionType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ReactiveErrorResponseWriter 설명 : 서블릿 버전의 ErrorResponseWriter 와 같이 에러 바디를 미리 byte[] 로 만들어두고 그대로 씀
+ * WebFilter, 인증 실패 핸들러는 ServerHttpResponse 에 바로 쓰고 (write)
+ * 컨트롤러 예외는 ReactiveExceptionHandler 가 ResponseEntity 로 돌려준다. (toResponseEntity)
+ * JwtWebFilter 의 거절 응답은 서블릿 버전과 같은 {"error","message"} 바디 (writeFilterRejection)
+ **/
+@Component
+public class ReactiveErrorResponseWriter {
+
+    private static final MediaType CONTENT_TYPE = new MediaType(MediaType.APPLICATION_JSON, StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+
+    // 서블릿 버전의 JwtFilter 가 쓰는 바디와 같은 바이트
+    private static final Map<BaseExceptionType, String> LEGACY_FILTER_BODIES = Map.of(
+            JwtExceptionType.EMPTY_TOKEN, "{\"error\": \"EMPTY_TOKEN\", \"message\" : \"토큰 값이 비어있습니다.\"}",
+            JwtExceptionType.BAD_TOKEN, "{\"error\": \"BAD_TOKEN\", \"message\" : \"잘못된 토큰 값입니다.\"}",
+            JwtExceptionType.ACCESS_TOKEN_EXPIRED, "{\"error\": \"ACCESS_TOKEN_EXPIRED\", \"message\" : \"엑세스토큰이 만료되었습니다.\"}");
+
+    // ExceptionType -> {"code":"..","message":".."}
+    private final Map<BaseExceptionType, byte[]> bodies = new ConcurrentHashMap<>();
+
+    // ExceptionType -> {"error":"..","message":".."} (필터 거절 응답)
+    private final Map<BaseExceptionType, byte[]> filterBodies = new ConcurrentHashMap<>();
+
+    public ReactiveErrorResponseWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        register(JwtExceptionType.values());
+        register(MemberExceptionType.values());
+        register(AuthorityExceptionType.values());
+        register(InternalServerExceptionType.values());
+        register(RequestExceptionType.values());
+    }
+
+    private void register(BaseExceptionType[] types) {
+        for (BaseExceptionType type : types) {
+            bodies.put(type, encode(type));
+            filterBodies.put(type, encodeFilterBody(type));
+        }
+    }
+
+    public byte[] body(BaseExceptionType type) {
+        return bodies.computeIfAbsent(type, this::encode);
+    }
+
+    /**
+     * 필터 등에서 상태코드를 따로 정해서 에러 응답을 쓴다. ex) 토큰 오류는 403
+     */
+    public Mono<Void> write(ServerHttpResponse response, HttpStatus status, BaseExceptionType type) {
+        return write(response, status, body(type));
+    }
+
+    /**
+     * JwtWebFilter 의 토큰 거절 응답을 쓴다. 403, {"error","message"} 바디
+     */
+    public Mono<Void> writeFilterRejection(ServerHttpResponse response, BaseExceptionType type) {
+        return write(response, HttpStatus.FORBIDDEN, filterBodies.computeIfAbsent(type, this::encodeFilterBody));
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, HttpStatus status, byte[] body) {
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(CONTENT_TYPE);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    public ResponseEntity<byte[]> toResponseEntity(BaseExceptionType type) {
+        return ResponseEntity.status(type.getHttpStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body(type));
+    }
+
+    private byte[] encode(BaseExceptionType type) {
+        try {
+            return objectMapper.writeValueAsBytes(new ErrorResult(type.getErrorCode(), type.getMessage())); // Jackson 은 항상 UTF-8
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] encodeFilterBody(BaseExceptionType type) {
+        String legacy = LEGACY_FILTER_BODIES.get(type);
+        if (legacy != null) {
+            return legacy.getBytes(StandardCharsets.UTF_8);
+        }
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("error", type.getErrorCode());
+        body.put("message", type.getMessage());
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.reactive.exceptionhandler;
+
+import com.example.demo.exceptionhandler.AuthorityExceptionType;
+import com.example.demo.exceptionhandler.BizException;
+import com.example.demo.exceptionhandler.ErrorResult;
+import com.example.demo.exceptionhandler.InternalServerExceptionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 서블릿 버전의 ExceptionHandler 와 같은 상태코드, 같은 바디로 응답
+ **/
+@Slf4j
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class ReactiveExceptionHandler {
+
+    private final ReactiveErrorResponseWriter errorResponseWriter;
+
+    @ExceptionHandler(BizException.class)
+    public ResponseEntity<byte[]> bizException(BizException e) {
+        return errorResponseWriter.toResponseEntity(e.getBaseExceptionType());
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ErrorResult> authenticationException(AuthenticationException e) {
+        return new ResponseEntity<>(new ErrorResult("AUTH_ERROR", e.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    // @PreAuthorize 에서 거절된 경우
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<byte[]> accessDeniedException(AccessDeniedException e) {
+        return errorResponseWriter.toResponseEntity(AuthorityExceptionType.ACCESS_DENIED);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<byte[]> notResolvedException(Exception e) {
+        log.debug("notResolvedException", e);
+        return errorResponseWriter.toResponseEntity(InternalServerExceptionType.INTERNAL_SERVER_ERROR);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.reactive.jwt;
+
+import com.example.demo.exceptionhandler.BaseExceptionType;
+import com.example.demo.exceptionhandler.BizException;
+import com.example.demo.exceptionhandler.JwtExceptionType;
+import com.example.demo.jwt.AuthMetrics;
+import com.example.demo.jwt.AuthMetrics.FilterOutcome;
+import com.example.demo.jwt.TokenProvider;
+import com.example.demo.jwt.VerifiedToken;
+import com.example.demo.jwt.VerifiedTokenCache;
+import com.example.demo.reactive.exceptionhandler.ReactiveErrorResponseWriter;
+import com.example.demo.reactive.service.ReactiveMemberDetailsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * JwtWebFilter 설명 : 서블릿 버전 JwtFilter 의 WebFlux 버전
+ * /auth 로 시작하는 요청은 그냥 통과, 그 외에는 토큰을 검사해서 Reactor Context 의 SecurityContext 에 Authentication 을 넣는다.
+ * 거절 응답(403 + 에러 바디), 캐시, 폐기 목록 검사, 메트릭은 JwtFilter 와 같음
+ *
+ * 토큰 검증은 CPU 만 쓰므로 이벤트 루프에서 그대로 하고
+ * compact 토큰의 이메일 조회만 R2DBC 로 기다린다. (ReactiveMemberDetailsService.getAuthentication)
+ * WebFilter 빈으로 등록하면 시큐리티 체인 밖에서 한 번 더 실행되므로 ReactiveSecurityConfig 에서 직접 생성
+ **/
+@Slf4j
+@RequiredArgsConstructor
+public class JwtWebFilter implements WebFilter {
+
+    public static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenProvider tokenProvider;
+    private final ReactiveMemberDetailsService memberDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ReactiveTokenDenylist tokenDenylist;
+    private final ReactiveErrorResponseWriter errorResponseWriter;
+    private final AuthMetrics authMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (exchange.getRequest().getPath().pathWithinApplication().value().startsWith("/auth")) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+        String token = resolveToken(exchange);
+        if (!StringUtils.hasText(token)) {
+            return reject(exchange, JwtExceptionType.EMPTY_TOKEN, FilterOutcome.EMPTY, start);
+        }
+
+        // 이미 검증해둔 토큰이면 HMAC 검증, JSON 파싱 없이 바로 통과
+        // 폐기 확인 뒤 멤버 조회를 기다리는 동안 로그아웃되면 폐기된 토큰이 캐시에 들어갈 수 있으므로 캐시 히트여도 폐기 목록 확인
+        VerifiedTokenCache.Entry cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            if (tokenDenylist.isRevoked(cached.getTokenId())) {
+                verifiedTokenCache.remove(token);
+                return reject(exchange, JwtExceptionType.REVOKED_TOKEN, FilterOutcome.REVOKED, start);
+            }
+            authMetrics.recordFilter(FilterOutcome.CACHED, start);
+            return continueWith(exchange, chain, cached.getAuthentication());
+        }
+
+        // TokenProvider.verify 의 사전 검사에서 형식이 잘못된 토큰도 INVALID 로 걸러짐
+        VerifiedToken verifiedToken = tokenProvider.verify(token);
+
+        log.debug("flag = {}", verifiedToken.getFlag());
+        if (verifiedToken.isValid() && tokenDenylist.isRevoked(verifiedToken.getTokenId())) { // 로그아웃된 토큰
+            return reject(exchange, JwtExceptionType.REVOKED_TOKEN, FilterOutcome.REVOKED, start);
+        } else if (verifiedToken.isValid()) { // 토큰 유효함
+            return memberDetailsService.getAuthentication(verifiedToken)
+                    .flatMap(authentication -> {
+                        verifiedTokenCache.put(token, verifiedToken, authentication);
+                        authMetrics.recordFilter(FilterOutcome.VALID, start);
+                        return continueWith(exchange, chain, authentication);
+                    })
+                    .onErrorResume(BizException.class, e -> reject(exchange, e.getBaseExceptionType(), FilterOutcome.INVALID, start));
+        } else if (verifiedToken.isExpired()) { // 토큰 만료
+            return reject(exchange, JwtExceptionType.ACCESS_TOKEN_EXPIRED, FilterOutcome.EXPIRED, start);
+        } else { //잘못된 토큰
+            return reject(exchange, JwtExceptionType.BAD_TOKEN, FilterOutcome.INVALID, start);
+        }
+    }
+
+    private static Mono<Void> continueWith(ServerWebExchange exchange, WebFilterChain chain, Authentication authentication) {
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+
+    // 토큰 오류는 기존과 같이 403, 바디도 기존의 {"error","message"} 모양
+    private Mono<Void> reject(ServerWebExchange exchange, BaseExceptionType type, FilterOutcome outcome, long start) {
+        log.debug("filter reject = {}", type);
+        authMetrics.recordFilter(outcome, start);
+        return errorResponseWriter.writeFilterRejection(exchange.getResponse(), type);
+    }
+
+    private static String resolveToken(ServerWebExchange exchange) {
+        String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
+            return bearerToken.substring(BEARER_PREFIX.length());
+        }
+        return null;
+    }
+}
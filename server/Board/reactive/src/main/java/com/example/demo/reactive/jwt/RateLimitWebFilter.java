@@ -0,0 +1,77 @@
+package com.example.demo.reactive.jwt;
+
+import com.example.demo.exceptionhandler.RequestExceptionType;
+import com.example.demo.reactive.exceptionhandler.ReactiveErrorResponseWriter;
+import com.example.demo.util.RateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Optional;
+
+/**
+ * RateLimitWebFilter 설명 : 서블릿 버전 RateLimitFilter 의 WebFlux 버전, 넘으면 429 와 Retry-After(초) 를 응답
+ * /auth/** 는 클라이언트 IP 로 JwtWebFilter 앞에서, 나머지는 인증된 이메일로 JwtWebFilter 뒤에서 제한
+ **/
+@Slf4j
+public class RateLimitWebFilter implements WebFilter {
+
+    private static final String AUTH_PATH = "/auth";
+
+    private final RateLimiter rateLimiter;
+    private final ReactiveErrorResponseWriter errorResponseWriter;
+    private final boolean byClientIp;
+
+    private RateLimitWebFilter(RateLimiter rateLimiter, ReactiveErrorResponseWriter errorResponseWriter, boolean byClientIp) {
+        this.rateLimiter = rateLimiter;
+        this.errorResponseWriter = errorResponseWriter;
+        this.byClientIp = byClientIp;
+    }
+
+    public static RateLimitWebFilter byClientIp(RateLimiter rateLimiter, ReactiveErrorResponseWriter errorResponseWriter) {
+        return new RateLimitWebFilter(rateLimiter, errorResponseWriter, true);
+    }
+
+    public static RateLimitWebFilter byPrincipal(RateLimiter rateLimiter, ReactiveErrorResponseWriter errorResponseWriter) {
+        return new RateLimitWebFilter(rateLimiter, errorResponseWriter, false);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (exchange.getRequest().getPath().pathWithinApplication().value().startsWith(AUTH_PATH) != byClientIp) {
+            return chain.filter(exchange);
+        }
+        if (byClientIp) {
+            InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+            String key = remoteAddress == null ? null : remoteAddress.getAddress().getHostAddress();
+            return limit(exchange, chain, key);
+        }
+        // 인증 정보가 없으면 이후 인가 단계에서 거절
+        return ReactiveSecurityContextHolder.getContext()
+                .map(context -> Optional.ofNullable(context.getAuthentication()).map(Authentication::getName))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(name -> limit(exchange, chain, name.orElse(null)));
+    }
+
+    private Mono<Void> limit(ServerWebExchange exchange, WebFilterChain chain, String key) {
+        if (key == null) {
+            return chain.filter(exchange);
+        }
+        long waitNanos = rateLimiter.acquire(key);
+        if (waitNanos == RateLimiter.ALLOWED) {
+            return chain.filter(exchange);
+        }
+
+        long retryAfter = RateLimiter.retryAfterSeconds(waitNanos);
+        log.debug("rate limited key = {}, retryAfter = {}", key, retryAfter);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        return errorResponseWriter.write(exchange.getResponse(), RequestExceptionType.TOO_MANY_REQUESTS.getHttpStatus(),
+                RequestExceptionType.TOO_MANY_REQUESTS);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.reactive.jwt;
+
+import com.example.demo.jwt.MemberEmailResolver;
+import com.example.demo.reactive.repository.MemberRepository;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ReactiveMemberEmailResolver 설명 : compact 토큰의 sub(memberId) 로 멤버 이메일을 찾는다.
+ * TokenProvider 는 MemberEmailResolver.findEmail 을 동기로 호출하는데 이벤트 루프에서 DB 를 기다릴 수는 없으므로
+ * ReactiveMemberDetailsService 가 loadEmail 로 찾은 이메일을 TokenProvider 에 직접 넘기고, findEmail 은 기억해둔 값만 돌려준다.
+ *
+ * MemberRepository 는 @Lazy 로 받음 : TokenProvider 가 MeterBinder 라서 MeterRegistry 보다 먼저 만들어지는데
+ * R2DBC 리포지토리를 만들면 다시 MeterRegistry 를 찾으므로 (startupTimeMetrics) 시작할 때 순환 참조가 생김
+ **/
+@Component
+public class ReactiveMemberEmailResolver implements MemberEmailResolver {
+    private final MemberRepository memberRepository;
+
+    public ReactiveMemberEmailResolver(@Lazy MemberRepository memberRepository) {
+        this.memberRepository = memberRepository;
+    }
+
+    // memberId -> 이메일, 이메일은 바뀌지 않으므로 MAX_EMAIL_ENTRIES 까지 기억해둔다.
+    private static final int MAX_EMAIL_ENTRIES = 10_000;
+    private final Map<Long, String> emailLookup = new ConcurrentHashMap<>();
+
+    /**
+     * @param subject compact 토큰의 sub (memberId)
+     * @return 이메일, 숫자가 아니거나 없는 멤버면 empty
+     */
+    public Mono<String> loadEmail(String subject) {
+        long memberId;
+        try {
+            memberId = Long.parseLong(subject);
+        } catch (NumberFormatException e) {
+            return Mono.empty();
+        }
+
+        String email = emailLookup.get(memberId);
+        if (email != null) {
+            return Mono.just(email);
+        }
+        return memberRepository.findEmailByMemberId(memberId)
+                .doOnNext(found -> {
+                    if (emailLookup.size() < MAX_EMAIL_ENTRIES) {
+                        emailLookup.putIfAbsent(memberId, found);
+                    }
+                });
+    }
+
+    /**
+     * loadEmail 로 기억해둔 이메일만 돌려줌 (블로킹 X, 없으면 null)
+     */
+    @Override
+    public String findEmail(long memberId) {
+        return emailLookup.get(memberId);
+    }
+}
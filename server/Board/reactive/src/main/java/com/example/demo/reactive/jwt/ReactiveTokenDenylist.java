@@ -0,0 +1,140 @@
+package com.example.demo.reactive.jwt;
+
+import com.example.demo.reactive.repository.RevokedTokenRepository;
+import com.example.demo.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ReactiveTokenDenylist 설명 : 서블릿 버전의 TokenDenylist 와 같은 구조 (BloomFilter + jti -> exp 맵)
+ * 검사(isRevoked)는 메모리에서만 하므로 그대로 동기, 저장과 정리만 R2DBC 로 한다.
+ * 같은 revoked_token 테이블을 사용하므로 서블릿 버전에서 로그아웃한 토큰도 재시작하면 함께 거절
+ * 맵과 블룸 필터에는 저장이 커밋된 뒤에 넣음 (리액티브 트랜잭션의 afterCommit, 트랜잭션 밖이면 저장 직후)
+ * 테이블은 모든 싱글톤을 만든 뒤에 읽음 (local 프로필의 schema.sql 은 R2dbcScriptDatabaseInitializer 빈이 실행하므로
+ * @PostConstruct 에서 읽으면 테이블이 아직 없을 수 있음)
+ **/
+@Slf4j
+@Component
+public class ReactiveTokenDenylist implements SmartInitializingSingleton {
+
+    private static final long SWEEP_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedSize;
+
+    // jti -> exp
+    private final Map<String, Long> entries = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+
+    private final AtomicLong lastSweep = new AtomicLong(System.currentTimeMillis());
+
+    public ReactiveTokenDenylist(RevokedTokenRepository revokedTokenRepository,
+                                 @Value("${jwt.denylist.expected-size:100000}") int expectedSize) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedSize = expectedSize;
+        this.bloomFilter = new BloomFilter(expectedSize);
+    }
+
+    // 요청을 받기 전에 테이블에서 아직 만료되지 않은 폐기 토큰을 다시 불러옴 (시작할 때 한 번이므로 block)
+    @Override
+    public void afterSingletonsInstantiated() {
+        long now = System.currentTimeMillis();
+        Integer deleted = revokedTokenRepository.deleteExpired(now).block();
+        revokedTokenRepository.findAllByExpirationGreaterThan(now)
+                .doOnNext(revokedToken -> entries.put(revokedToken.getTokenId(), revokedToken.getExpiration()))
+                .then()
+                .block();
+        rebuild();
+        log.debug("ReactiveTokenDenylist loaded = {}, deleted = {}", entries.size(), deleted);
+    }
+
+    /**
+     * @param tokenId    폐기할 토큰의 jti (jti 가 없는 이전 토큰은 폐기할 수 없음)
+     * @param expiration 토큰의 exp, 이 시간이 지나면 엔트리도 삭제
+     * @param onRevoked  폐기가 메모리에 반영된 뒤 실행 ex) 검증 캐시에서 제거
+     */
+    public Mono<Void> revoke(String tokenId, long expiration, Runnable onRevoked) {
+        long now = System.currentTimeMillis();
+        if (tokenId == null || expiration <= now) {
+            return Mono.empty();
+        }
+        return revokedTokenRepository.insert(tokenId, expiration)
+                .then(afterCommit(() -> add(tokenId, expiration, onRevoked)))
+                .then(Mono.defer(() -> sweepIfNeeded(now)));
+    }
+
+    private void add(String tokenId, long expiration, Runnable onRevoked) {
+        entries.put(tokenId, expiration);
+        bloomFilter.put(tokenId);
+        onRevoked.run();
+    }
+
+    private static Mono<Void> afterCommit(Runnable action) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(manager -> {
+                    if (!manager.isSynchronizationActive()) {
+                        return Mono.fromRunnable(action);
+                    }
+                    manager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return Mono.fromRunnable(action);
+                        }
+                    });
+                    return Mono.empty();
+                })
+                .onErrorResume(NoTransactionException.class, e -> Mono.fromRunnable(action))
+                .then();
+    }
+
+    /**
+     * @return 폐기된 토큰이면 true, 대부분은 블룸 필터에서 바로 false
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiration = entries.get(tokenId);
+        return expiration != null && expiration > System.currentTimeMillis();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // SWEEP_INTERVAL 마다 한 요청만 만료된 엔트리를 지우고 블룸 필터를 다시 만든다.
+    private Mono<Void> sweepIfNeeded(long now) {
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL || !lastSweep.compareAndSet(last, now)) {
+            return Mono.empty();
+        }
+        Iterator<Long> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next() <= now) {
+                it.remove();
+            }
+        }
+        rebuild();
+        return revokedTokenRepository.deleteExpired(now).then();
+    }
+
+    // 새 필터를 채워서 교체한 뒤 한 번 더 채움 (채우는 도중에 이전 필터에만 들어간 jti 를 놓치지 않도록)
+    private void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedSize, entries.size() * 2));
+        entries.keySet().forEach(rebuilt::put);
+        this.bloomFilter = rebuilt;
+        entries.keySet().forEach(rebuilt::put);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * authority 테이블 (ROLE_USER, ROLE_ADMIN)
+ **/
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("authority")
+public class AuthorityEntity {
+
+    @Id
+    @Column("authority_name")
+    private String authorityName;
+}
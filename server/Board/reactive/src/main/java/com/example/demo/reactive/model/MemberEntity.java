@@ -0,0 +1,65 @@
+package com.example.demo.reactive.model;
+
+import com.example.demo.model.Authority;
+import com.example.demo.model.Member;
+import com.example.demo.model.MemberAuth;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * member 테이블 (서블릿 버전의 Member 엔티티와 같은 테이블)
+ * R2DBC 는 연관관계를 지원하지 않으므로 권한(member_authority)은 MemberRepository 에서 따로 조회
+ **/
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("member")
+public class MemberEntity {
+
+    @Id
+    @Column("member_id")
+    private Long memberId;
+
+    @Column("username")
+    private String username;
+
+    @Column("email")
+    private String email;
+
+    @Column("password")
+    private String password;
+
+    @Column("activated")
+    private boolean activated;
+
+    public void updatePassword(String encodedPassword) {
+        this.password = encodedPassword;
+    }
+
+    public void updateUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * @param authorityNames member_authority 의 authority_name 목록
+     * @return TokenProvider, MemberRespDTO 에 그대로 넘길 수 있는 서블릿 버전의 Member
+     */
+    public Member toMember(Collection<String> authorityNames) {
+        Set<Authority> authorities = authorityNames.stream()
+                .filter(MemberAuth::containsKey)
+                .map(MemberAuth::get)
+                .map(Authority::new)
+                .collect(Collectors.toSet());
+        return new Member(memberId, username, email, password, activated, authorities);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * refresh_token 테이블, key 는 멤버 이메일, digest 는 리프레시 토큰의 SHA-256 다이제스트 (TokenDigest)
+ * key 는 MySQL 예약어라 RefreshTokenRepository 에서 쿼리를 직접 작성
+ **/
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("refresh_token")
+public class RefreshTokenEntity {
+
+    @Id
+    @Column("key")
+    private String key;
+
+    @Column("digest")
+    private byte[] digest;
+}
@@ -0,0 +1,25 @@
+package com.example.demo.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * revoked_token 테이블, 서블릿 버전과 같이 로그아웃된 엑세스 토큰의 jti 와 exp
+ **/
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("revoked_token")
+public class RevokedTokenEntity {
+
+    @Id
+    @Column("token_id")
+    private String tokenId;
+
+    @Column("expiration")
+    private long expiration;
+}
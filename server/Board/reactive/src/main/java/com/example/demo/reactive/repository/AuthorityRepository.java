@@ -0,0 +1,7 @@
+package com.example.demo.reactive.repository;
+
+import com.example.demo.reactive.model.AuthorityEntity;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+
+public interface AuthorityRepository extends R2dbcRepository<AuthorityEntity, String> {
+}
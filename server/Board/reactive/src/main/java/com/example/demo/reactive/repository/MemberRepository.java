@@ -0,0 +1,31 @@
+package com.example.demo.reactive.repository;
+
+import com.example.demo.reactive.model.MemberEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface MemberRepository extends R2dbcRepository<MemberEntity, Long> {
+
+    Mono<MemberEntity> findByEmail(String email);
+
+    Mono<Boolean> existsByEmail(String email);
+
+    // compact 토큰의 sub(memberId) 로 이메일만 조회
+    @Query("select email from member where member_id = :memberId")
+    Mono<String> findEmailByMemberId(Long memberId);
+
+    // 서블릿 버전의 @ManyToMany(member_authority) 대신 권한 이름만 따로 조회
+    @Query("select authority_name from member_authority where member_id = :memberId")
+    Flux<String> findAuthorityNames(Long memberId);
+
+    @Modifying
+    @Query("insert into member_authority (member_id, authority_name) values (:memberId, :authorityName)")
+    Mono<Integer> addAuthority(Long memberId, String authorityName);
+
+    @Modifying
+    @Query("delete from member_authority where member_id = :memberId")
+    Mono<Integer> removeAuthorities(Long memberId);
+}
@@ -0,0 +1,34 @@
+package com.example.demo.reactive.repository;
+
+import com.example.demo.reactive.model.RefreshTokenEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * key 가 예약어이므로 생성되는 쿼리 대신 직접 작성 (로컬 H2 는 MODE=MySQL 로 백틱을 허용)
+ * 키가 이미 정해져 있는 엔티티라 save 는 항상 update 가 되므로 insert 도 따로 둔다.
+ **/
+public interface RefreshTokenRepository extends R2dbcRepository<RefreshTokenEntity, String> {
+
+    @Query("select `key`, digest from refresh_token where `key` = :key")
+    Mono<RefreshTokenEntity> findByKey(String key);
+
+    @Modifying
+    @Query("insert into refresh_token (`key`, digest) values (:key, :digest)")
+    Mono<Integer> insert(String key, byte[] digest);
+
+    @Modifying
+    @Query("update refresh_token set digest = :digest where `key` = :key")
+    Mono<Integer> updateDigest(String key, byte[] digest);
+
+    // 저장된 다이제스트가 expected 일 때만 교체 (같은 리프레시 토큰으로 두 번 재발급 받지 못하도록)
+    @Modifying
+    @Query("update refresh_token set digest = :digest where `key` = :key and digest = :expected")
+    Mono<Integer> replaceDigest(String key, byte[] expected, byte[] digest);
+
+    @Modifying
+    @Query("delete from refresh_token where `key` = :key")
+    Mono<Integer> deleteByKey(String key);
+}
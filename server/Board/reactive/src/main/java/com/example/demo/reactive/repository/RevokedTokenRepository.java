@@ -0,0 +1,23 @@
+package com.example.demo.reactive.repository;
+
+import com.example.demo.reactive.model.RevokedTokenEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface RevokedTokenRepository extends R2dbcRepository<RevokedTokenEntity, String> {
+
+    // 아직 만료되지 않은 폐기 토큰 (시작할 때 ReactiveTokenDenylist 를 다시 만들 때 사용)
+    Flux<RevokedTokenEntity> findAllByExpirationGreaterThan(long now);
+
+    @Modifying
+    @Query("insert into revoked_token (token_id, expiration) values (:tokenId, :expiration)")
+    Mono<Integer> insert(String tokenId, long expiration);
+
+    // exp 가 지난 폐기 토큰은 어차피 만료로 거절되므로 삭제
+    @Modifying
+    @Query("delete from revoked_token where expiration <= :now")
+    Mono<Integer> deleteExpired(long now);
+}
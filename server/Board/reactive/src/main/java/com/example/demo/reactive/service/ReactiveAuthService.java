@@ -0,0 +1,160 @@
+package com.example.demo.reactive.service;
+
+import com.example.demo.exceptionhandler.AuthorityExceptionType;
+import com.example.demo.exceptionhandler.BizException;
+import com.example.demo.exceptionhandler.JwtExceptionType;
+import com.example.demo.exceptionhandler.MemberExceptionType;
+import com.example.demo.jwt.AuthMetrics;
+import com.example.demo.jwt.TokenProvider;
+import com.example.demo.jwt.VerifiedToken;
+import com.example.demo.jwt.VerifiedTokenCache;
+import com.example.demo.model.Member;
+import com.example.demo.model.MemberAuth;
+import com.example.demo.model.dto.LoginReqDTO;
+import com.example.demo.model.dto.MemberReqDTO;
+import com.example.demo.model.dto.MemberRespDTO;
+import com.example.demo.model.dto.TokenDTO;
+import com.example.demo.model.dto.TokenReqDTO;
+import com.example.demo.reactive.jwt.ReactiveTokenDenylist;
+import com.example.demo.reactive.model.MemberEntity;
+import com.example.demo.reactive.repository.AuthorityRepository;
+import com.example.demo.reactive.repository.MemberRepository;
+import com.example.demo.reactive.repository.RefreshTokenRepository;
+import com.example.demo.util.TokenDigest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveAuthService 설명 : 서블릿 버전의 AuthService 와 같은 순서로 검사하고 같은 예외를 던진다.
+ * BCrypt 는 ReactivePasswordEncoder 의 전용 스케줄러에서, 토큰 서명/검증은 짧은 CPU 작업이라 이벤트 루프에서 그대로 실행
+ **/
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveAuthService {
+    private final MemberRepository memberRepository;
+    private final AuthorityRepository authorityRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ReactivePasswordEncoder passwordEncoder;
+    private final TokenProvider tokenProvider;
+    private final ReactiveMemberDetailsService memberDetailsService;
+    private final ReactiveTokenDenylist tokenDenylist;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthMetrics authMetrics;
+
+    @Transactional
+    public Mono<MemberRespDTO> signup(MemberReqDTO memberRequestDto) {
+        String roleUser = MemberAuth.ROLE_USER.getAbbreviation();
+
+        return memberRepository.existsByEmail(memberRequestDto.getEmail())
+                .flatMap(exists -> exists
+                        ? Mono.error(new BizException(MemberExceptionType.DUPLICATE_USER))
+                        : authorityRepository.findById(roleUser) // DB 에서 ROLE_USER를 찾아서 권한으로 추가한다.
+                                .switchIfEmpty(Mono.error(() -> new BizException(AuthorityExceptionType.NOT_FOUND_AUTHORITY))))
+                .flatMap(authority -> passwordEncoder.encode(memberRequestDto.getPassword()))
+                .flatMap(encodedPassword -> memberRepository.save(MemberEntity.builder()
+                        .email(memberRequestDto.getEmail())
+                        .username(memberRequestDto.getUsername())
+                        .password(encodedPassword)
+                        .activated(false)
+                        .build()))
+                .flatMap(member -> memberRepository.addAuthority(member.getMemberId(), roleUser).thenReturn(member))
+                .map(member -> new MemberRespDTO(member.getEmail()));
+    }
+
+    public Mono<TokenDTO> login(LoginReqDTO loginReqDTO) {
+        return memberDetailsService.getMember(loginReqDTO.getEmail())
+                .flatMap(member -> checkPassword(loginReqDTO.getPassword(), member))
+                .flatMap(member -> {
+                    String accessToken = tokenProvider.createAccessToken(member);
+                    String refreshToken = tokenProvider.createRefreshToken(member);
+
+                    //refresh Token 저장
+                    return saveRefreshToken(member.getEmail(), refreshToken)
+                            .thenReturn(tokenProvider.createTokenDTO(accessToken, refreshToken));
+                });
+    }
+
+    @Transactional
+    public Mono<TokenDTO> reissue(TokenReqDTO tokenRequestDto) {
+        String originAccessToken = tokenRequestDto.getAccessToken();
+        String originRefreshToken = tokenRequestDto.getRefreshToken();
+
+        // refreshToken 검증하고 상황에 맞는 오류를 내보낸다.
+        int refreshTokenFlag = tokenProvider.validateToken(originRefreshToken);
+        if (refreshTokenFlag == -1) {
+            return Mono.error(new BizException(JwtExceptionType.BAD_TOKEN)); // 잘못된 리프레시 토큰
+        } else if (refreshTokenFlag == 2) {
+            return Mono.error(new BizException(JwtExceptionType.REFRESH_TOKEN_EXPIRED)); // 유효기간 끝난 토큰
+        }
+
+        // Access Token 에서 Member Email 가져오기 -> 저장된 Refresh Token 과 비교 -> 새 토큰 발급, 저장
+        return Mono.fromCallable(() -> tokenProvider.parseClaims(originAccessToken))
+                .flatMap(memberDetailsService::getAuthentication)
+                .flatMap(authentication -> refreshTokenRepository.findByKey(authentication.getName())
+                        .switchIfEmpty(Mono.error(() -> new BizException(MemberExceptionType.LOGOUT_MEMBER))) // 로그 아웃된 사용자
+                        .flatMap(refreshToken -> TokenDigest.matches(refreshToken.getDigest(), originRefreshToken) // 상수 시간 비교
+                                ? memberDetailsService.getMember(authentication.getName())
+                                : Mono.error(new BizException(JwtExceptionType.BAD_TOKEN)))) // 토큰이 일치하지 않습니다.
+                .flatMap(member -> {
+                    String newAccessToken = tokenProvider.createAccessToken(member);
+                    String newRefreshToken = tokenProvider.createRefreshToken(member);
+                    return refreshTokenRepository.replaceDigest(member.getEmail(), TokenDigest.of(originRefreshToken), TokenDigest.of(newRefreshToken))
+                            .flatMap(replaced -> replaced > 0
+                                    ? Mono.just(tokenProvider.createTokenDTO(newAccessToken, newRefreshToken))
+                                    : Mono.error(new BizException(JwtExceptionType.BAD_TOKEN))); // 그 사이에 먼저 재발급됨
+                });
+    }
+
+    /**
+     * 로그아웃 : 엑세스 토큰의 jti 를 exp 까지 폐기 목록에 등록하고 리프레시 토큰을 삭제 (만료된 엑세스 토큰으로도 가능)
+     */
+    @Transactional
+    public Mono<Void> logout(TokenReqDTO tokenRequestDto) {
+        String accessToken = tokenRequestDto.getAccessToken();
+        if (!StringUtils.hasText(accessToken)) {
+            return Mono.error(new BizException(JwtExceptionType.EMPTY_TOKEN));
+        }
+
+        return Mono.fromCallable(() -> tokenProvider.parseClaims(accessToken))
+                .flatMap(verifiedToken -> revoke(accessToken, verifiedToken)
+                        .then(memberDetailsService.getMemberEmail(verifiedToken)))
+                .flatMap(email -> refreshTokenRepository.deleteByKey(email)
+                        .doOnNext(deleted -> log.debug("logout = {}", email)))
+                .then();
+    }
+
+    private Mono<Void> revoke(String accessToken, VerifiedToken verifiedToken) {
+        if (!verifiedToken.isValid()) {
+            return Mono.empty();
+        }
+        return tokenDenylist.revoke(verifiedToken.getTokenId(), verifiedToken.getExpiration(),
+                () -> verifiedTokenCache.remove(accessToken));
+    }
+
+    // CustomEmailPasswordAuthProvider 와 같이 비밀번호가 없으면 NOT_FOUND_PASSWORD, 틀리면 WRONG_PASSWORD
+    private Mono<Member> checkPassword(String presentedPassword, Member member) {
+        if (presentedPassword == null) {
+            return Mono.error(new BizException(MemberExceptionType.NOT_FOUND_PASSWORD));
+        }
+        long start = System.nanoTime();
+        return passwordEncoder.matches(presentedPassword, member.getPassword())
+                .flatMap(matched -> {
+                    authMetrics.recordPasswordCheck(matched, start); // 스케줄러 대기 시간 포함
+                    return matched
+                            ? Mono.just(member)
+                            : Mono.error(new BizException(MemberExceptionType.WRONG_PASSWORD));
+                });
+    }
+
+    // 서블릿 버전의 save(merge) 와 같이 있으면 갱신, 없으면 추가
+    private Mono<Integer> saveRefreshToken(String email, String refreshToken) {
+        byte[] digest = TokenDigest.of(refreshToken);
+        return refreshTokenRepository.updateDigest(email, digest)
+                .flatMap(updated -> updated > 0 ? Mono.just(updated) : refreshTokenRepository.insert(email, digest));
+    }
+}
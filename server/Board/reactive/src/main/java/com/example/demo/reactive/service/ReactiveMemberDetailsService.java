@@ -0,0 +1,67 @@
+package com.example.demo.reactive.service;
+
+import com.example.demo.exceptionhandler.BizException;
+import com.example.demo.exceptionhandler.MemberExceptionType;
+import com.example.demo.jwt.TokenProvider;
+import com.example.demo.jwt.VerifiedToken;
+import com.example.demo.model.Member;
+import com.example.demo.reactive.jwt.ReactiveMemberEmailResolver;
+import com.example.demo.reactive.model.MemberEntity;
+import com.example.demo.reactive.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveMemberDetailsService 설명 : 서블릿 버전의 CustomUserDetailsService 역할
+ * 멤버와 권한(member_authority)을 읽어서 TokenProvider 에 넘길 Member 로 만들고
+ * 토큰으로 Authentication, 이메일을 만들 때 compact 토큰이면 이메일을 R2DBC 로 먼저 찾아서 TokenProvider 에 넘긴다.
+ **/
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveMemberDetailsService {
+    private final MemberRepository memberRepository;
+    private final TokenProvider tokenProvider;
+    private final ReactiveMemberEmailResolver memberEmailResolver;
+
+    /**
+     * @return 권한까지 채운 Member, 없으면 NOT_FOUND_USER
+     */
+    public Mono<Member> getMember(String email) {
+        return memberRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new BizException(MemberExceptionType.NOT_FOUND_USER)))
+                .flatMap(this::withAuthorities);
+    }
+
+    public Mono<Member> withAuthorities(MemberEntity member) {
+        return memberRepository.findAuthorityNames(member.getMemberId())
+                .collectList()
+                .map(member::toMember);
+    }
+
+    /**
+     * TokenProvider.getAuthentication 과 같은 결과, 예외 (이메일을 못 찾으면 TokenProvider 가 BAD_TOKEN, NOT_FOUND_USER)
+     */
+    public Mono<Authentication> getAuthentication(VerifiedToken verifiedToken) {
+        if (!verifiedToken.isCompact()) {
+            return Mono.fromCallable(() -> tokenProvider.getAuthentication(verifiedToken));
+        }
+        return memberEmailResolver.loadEmail(verifiedToken.getSubject())
+                .map(email -> tokenProvider.getAuthentication(verifiedToken, email))
+                .switchIfEmpty(Mono.fromCallable(() -> tokenProvider.getAuthentication(verifiedToken)));
+    }
+
+    /**
+     * TokenProvider.getMemberEmail 과 같은 결과, 예외
+     */
+    public Mono<String> getMemberEmail(VerifiedToken verifiedToken) {
+        if (!verifiedToken.isCompact()) {
+            return Mono.justOrEmpty(verifiedToken.getSubject());
+        }
+        return memberEmailResolver.loadEmail(verifiedToken.getSubject())
+                .switchIfEmpty(Mono.fromCallable(() -> tokenProvider.getMemberEmail(verifiedToken)));
+    }
+}
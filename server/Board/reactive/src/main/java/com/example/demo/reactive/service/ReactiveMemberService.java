@@ -0,0 +1,95 @@
+package com.example.demo.reactive.service;
+
+import com.example.demo.exceptionhandler.BizException;
+import com.example.demo.exceptionhandler.MemberExceptionType;
+import com.example.demo.model.MemberAuth;
+import com.example.demo.model.dto.MemberRespDTO;
+import com.example.demo.model.dto.MemberUpdateDTO;
+import com.example.demo.reactive.model.MemberEntity;
+import com.example.demo.reactive.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 멤버 등록 및 조회 (서블릿 버전의 MemberService 와 같은 동작)
+ * SecurityContext 는 쓰레드가 아니라 Reactor Context 에 있으므로 ReactiveSecurityContextHolder 로 꺼낸다.
+ **/
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveMemberService {
+    private final MemberRepository memberRepository;
+    private final ReactivePasswordEncoder passwordEncoder;
+
+    /**
+     * @return email에 해당하는 멤버의 정보를 반환한다.
+     */
+    @Transactional(readOnly = true)
+    public Mono<MemberRespDTO> getMemberInfo(String email) {
+        return memberRepository.findByEmail(email)
+                .map(member -> new MemberRespDTO(member.getEmail()))
+                .switchIfEmpty(Mono.error(() -> new BizException(MemberExceptionType.NOT_FOUND_USER))); // 유저를 찾을 수 없습니다.
+    }
+
+    /**
+     * @return 현재 SecurityContext 에 있는 유저 정보를 반환한다.
+     */
+    @Transactional(readOnly = true)
+    public Mono<MemberRespDTO> getMyInfo() {
+        return currentMemberEmail().flatMap(this::getMemberInfo);
+    }
+
+    /**
+     * 멤버 업데이트 (Email은 업데이트 할 수 없다.), 권한 목록이 있으면 member_authority 를 통째로 교체
+     */
+    @Transactional
+    public Mono<Void> updateMemberInfo(MemberUpdateDTO dto) {
+        return memberRepository.findByEmail(dto.getEmail())
+                .switchIfEmpty(Mono.error(() -> new BizException(MemberExceptionType.NOT_FOUND_USER)))
+                .flatMap(member -> updatePassword(member, dto.getPassword()))
+                .flatMap(member -> {
+                    if (dto.getUsername() != null) member.updateUsername(dto.getUsername());
+                    return memberRepository.save(member);
+                })
+                .flatMap(member -> updateAuthorities(member, dto))
+                .then();
+    }
+
+    private Mono<MemberEntity> updatePassword(MemberEntity member, String password) {
+        if (password == null) {
+            return Mono.just(member);
+        }
+        return passwordEncoder.encode(password)
+                .map(encodedPassword -> {
+                    member.updatePassword(encodedPassword);
+                    return member;
+                });
+    }
+
+    private Mono<Void> updateAuthorities(MemberEntity member, MemberUpdateDTO dto) {
+        if (dto.getAuthorities() == null || dto.getAuthorities().isEmpty()) {
+            return Mono.empty();
+        }
+        return memberRepository.removeAuthorities(member.getMemberId())
+                .thenMany(Flux.fromIterable(dto.getAuthorities())
+                        .filter(MemberAuth::containsKey)
+                        .distinct()
+                        .concatMap(authorityName -> memberRepository.addAuthority(member.getMemberId(), authorityName)))
+                .then();
+    }
+
+    // SecurityUtil.getCurrentMemberEmail 과 같이 인증 정보가 없으면 NOT_FOUND_AUTHENTICATION
+    private static Mono<String> currentMemberEmail() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .map(Authentication::getName)
+                .switchIfEmpty(Mono.error(() -> new BizException(MemberExceptionType.NOT_FOUND_AUTHENTICATION)));
+    }
+}
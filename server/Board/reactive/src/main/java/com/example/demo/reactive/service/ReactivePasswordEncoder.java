@@ -0,0 +1,60 @@
+package com.example.demo.reactive.service;
+
+import com.example.demo.exceptionhandler.BizException;
+import com.example.demo.exceptionhandler.RequestExceptionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * ReactivePasswordEncoder 설명 : BCrypt 를 이벤트 루프가 아닌 전용 스케줄러에서 실행
+ * BCrypt 한 번은 수십 ms 동안 CPU 를 쓰므로 이벤트 루프에서 돌리면 그동안 그 루프의 다른 요청이 모두 멈춤
+ * Schedulers.boundedElastic 을 같이 쓰면 다른 블로킹 작업과 쓰레드를 나눠 쓰게 되므로 따로 만든 bounded 스케줄러를 사용
+ * reactive.bcrypt.threads 개의 쓰레드, 대기 작업은 reactive.bcrypt.queue-size 까지
+ * (넘으면 스케줄러가 RejectedExecutionException -> 서블릿 버전의 PasswordVerificationExecutor 와 같이 503 LOGIN_BUSY)
+ **/
+@Slf4j
+@Component
+public class ReactivePasswordEncoder {
+
+    private final PasswordEncoder passwordEncoder;
+    private final Scheduler scheduler;
+
+    public ReactivePasswordEncoder(PasswordEncoder passwordEncoder,
+                                   @Value("${reactive.bcrypt.threads:0}") int threads,
+                                   @Value("${reactive.bcrypt.queue-size:1000}") int queueSize) {
+        this.passwordEncoder = passwordEncoder;
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors(); // 0 이면 코어 수
+        this.scheduler = Schedulers.newBoundedElastic(size, queueSize, "bcrypt");
+        log.debug("ReactivePasswordEncoder threads = {}, queueSize = {}", size, queueSize);
+    }
+
+    public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        return Mono.fromCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword))
+                .subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, ReactivePasswordEncoder::busy);
+    }
+
+    public Mono<String> encode(String rawPassword) {
+        return Mono.fromCallable(() -> passwordEncoder.encode(rawPassword))
+                .subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, ReactivePasswordEncoder::busy);
+    }
+
+    private static BizException busy(RejectedExecutionException e) {
+        log.debug("bcrypt scheduler rejected = {}", e.getMessage());
+        return new BizException(RequestExceptionType.LOGIN_BUSY);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,3 @@
+-- 로컬(H2) 용 권한 (initDataBaseForLocal 과 같이 ROLE_ADMIN, ROLE_USER)
+merge into authority (authority_name) key (authority_name) values ('ROLE_ADMIN');
+merge into authority (authority_name) key (authority_name) values ('ROLE_USER');
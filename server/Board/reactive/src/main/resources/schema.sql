@@ -0,0 +1,30 @@
+-- 로컬(H2) 용 스키마, 서블릿 버전의 JPA 엔티티(Member, Authority, RefreshToken, RevokedToken)와 같은 테이블
+create table if not exists member (
+    member_id bigint auto_increment primary key,
+    username varchar(50) not null,
+    email varchar(255) not null unique,
+    password varchar(255) not null,
+    activated boolean
+);
+
+create table if not exists authority (
+    authority_name varchar(50) primary key
+);
+
+create table if not exists member_authority (
+    member_id bigint not null,
+    authority_name varchar(50) not null,
+    primary key (member_id, authority_name)
+);
+
+-- 토큰 문자열 대신 SHA-256 다이제스트 (TokenDigest)
+create table if not exists refresh_token (
+    `key` varchar(255) primary key,
+    digest binary(32) not null
+);
+create index if not exists idx_refresh_token_digest on refresh_token (digest);
+
+create table if not exists revoked_token (
+    token_id varchar(32) primary key,
+    expiration bigint not null
+);
@@ -0,0 +1,167 @@
+package com.example.demo.reactive.controller;
+
+import com.example.demo.jwt.TokenProvider;
+import com.example.demo.model.Authority;
+import com.example.demo.model.MemberAuth;
+import com.example.demo.model.dto.LoginReqDTO;
+import com.example.demo.model.dto.MemberReqDTO;
+import com.example.demo.model.dto.TokenDTO;
+import com.example.demo.model.dto.TokenReqDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * /auth 의 로그인, 재발급, 로그아웃과 JwtWebFilter 의 거절 응답
+ * local 프로필(H2 메모리 DB, schema.sql, data.sql)로 실행, 테스트마다 새 멤버를 가입시켜서 사용
+ * 상태코드, 바디는 서블릿 버전과 같아야 함 (필터 거절은 403 + 예전 {"error","message"} 바디)
+ **/
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("local")
+class AuthControllerTest {
+
+    private static final String PASSWORD = "1234";
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Value("${jwt.secret}")
+    String secret;
+
+    @Test
+    void loginIssuesTokensThatAuthenticate() {
+        String email = signup();
+
+        TokenDTO token = login(email);
+
+        assertThat(token.getGrantType()).isEqualTo("Bearer");
+        assertThat(token.getRefreshToken()).isNotBlank();
+        webTestClient.get().uri("/member")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token.getAccessToken())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.email").isEqualTo(email);
+    }
+
+    @Test
+    void loginWithWrongPassword() {
+        String email = signup();
+
+        webTestClient.post().uri("/auth/login")
+                .bodyValue(new LoginReqDTO(email, "wrong"))
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.code").isEqualTo("WRONG_PASSWORD");
+    }
+
+    @Test
+    void reissueRotatesRefreshToken() {
+        TokenDTO token = login(signup());
+
+        TokenDTO reissued = webTestClient.post().uri("/auth/reissue")
+                .bodyValue(tokenRequest(token))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TokenDTO.class).returnResult().getResponseBody();
+
+        assertThat(reissued.getRefreshToken()).isNotEqualTo(token.getRefreshToken());
+        // 이미 바뀐 리프레시 토큰으로 다시 재발급할 수 없음
+        webTestClient.post().uri("/auth/reissue")
+                .bodyValue(tokenRequest(token))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.code").isEqualTo("BAD_TOKEN");
+    }
+
+    @Test
+    void logoutRevokesAccessAndRefreshToken() {
+        TokenDTO token = login(signup());
+
+        webTestClient.post().uri("/auth/logout")
+                .bodyValue(tokenRequest(token))
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/member")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token.getAccessToken())
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody().jsonPath("$.error").isEqualTo("REVOKED_TOKEN");
+        webTestClient.post().uri("/auth/reissue")
+                .bodyValue(tokenRequest(token))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.code").isEqualTo("LOGOUT_MEMBER");
+    }
+
+    @Test
+    void rejectsMissingToken() {
+        assertFilterRejection(null, "{\"error\": \"EMPTY_TOKEN\", \"message\" : \"토큰 값이 비어있습니다.\"}");
+    }
+
+    @Test
+    void rejectsBadToken() {
+        assertFilterRejection("Bearer not-a-token", "{\"error\": \"BAD_TOKEN\", \"message\" : \"잘못된 토큰 값입니다.\"}");
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        TokenProvider expiredTokenProvider = new TokenProvider(secret, -60_000, 60_000, "jjwt", false, memberId -> null);
+        String token = expiredTokenProvider.createAccessToken("user@user.com",
+                Collections.singleton(new Authority(MemberAuth.ROLE_USER)));
+
+        assertFilterRejection("Bearer " + token,
+                "{\"error\": \"ACCESS_TOKEN_EXPIRED\", \"message\" : \"엑세스토큰이 만료되었습니다.\"}");
+    }
+
+    private void assertFilterRejection(String authorization, String expectedBody) {
+        byte[] body = webTestClient.get().uri("/member")
+                .headers(headers -> {
+                    if (authorization != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    }
+                })
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody().returnResult().getResponseBody();
+
+        assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo(expectedBody);
+    }
+
+    private String signup() {
+        String email = "reactive" + SEQUENCE.incrementAndGet() + "@user.com";
+        webTestClient.post().uri("/auth/signup")
+                .bodyValue(new MemberReqDTO(email, PASSWORD, "reactive"))
+                .exchange()
+                .expectStatus().isOk();
+        return email;
+    }
+
+    private TokenDTO login(String email) {
+        return webTestClient.post().uri("/auth/login")
+                .bodyValue(new LoginReqDTO(email, PASSWORD))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TokenDTO.class).returnResult().getResponseBody();
+    }
+
+    private static TokenReqDTO tokenRequest(TokenDTO token) {
+        TokenReqDTO request = new TokenReqDTO();
+        request.setAccessToken(token.getAccessToken());
+        request.setRefreshToken(token.getRefreshToken());
+        return request;
+    }
+}
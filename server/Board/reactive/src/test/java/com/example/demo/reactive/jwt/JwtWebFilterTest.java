@@ -0,0 +1,97 @@
+package com.example.demo.reactive.jwt;
+
+import com.example.demo.jwt.AuthMetrics;
+import com.example.demo.jwt.TokenProvider;
+import com.example.demo.jwt.VerifiedToken;
+import com.example.demo.jwt.VerifiedTokenCache;
+import com.example.demo.model.Authority;
+import com.example.demo.model.MemberAuth;
+import com.example.demo.reactive.exceptionhandler.ReactiveErrorResponseWriter;
+import com.example.demo.reactive.repository.MemberRepository;
+import com.example.demo.reactive.repository.RevokedTokenRepository;
+import com.example.demo.reactive.service.ReactiveMemberDetailsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JwtWebFilter : 캐시 히트여도 폐기 목록을 확인
+ * 폐기 여부를 확인한 뒤 멤버 조회를 기다리는 동안 로그아웃되면 폐기된 토큰이 캐시에 남는데, 다음 요청에서 거절해야 함
+ **/
+class JwtWebFilterTest {
+
+    private static final String SECRET = "aGVsbG8tbXktcmVhbC1uYW1lLWlzLXdvbmp1bi10aGlzLWtleS1pcy12ZXJ5LWltcG9ydGFudC1zby1iZS1jYXJlZnVsLXRoYW5rLXlvdQ==";
+
+    private final TokenProvider tokenProvider = new TokenProvider(SECRET, 60_000, 120_000, "jjwt", false, memberId -> null);
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    private final ReactiveTokenDenylist tokenDenylist = new ReactiveTokenDenylist(revokedTokenRepository, 1_000);
+
+    // true 면 put 직전에 토큰을 폐기 (검증, 폐기 확인 -> 로그아웃 커밋 -> put 순서)
+    private boolean revokeBeforePut;
+
+    private final VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(true, DataSize.ofMegabytes(1)) {
+        @Override
+        public void put(String token, VerifiedToken verifiedToken, Authentication authentication) {
+            if (revokeBeforePut) {
+                tokenDenylist.revoke(verifiedToken.getTokenId(), verifiedToken.getExpiration(), () -> remove(token)).block();
+            }
+            super.put(token, verifiedToken, authentication);
+        }
+    };
+
+    private final JwtWebFilter jwtWebFilter = new JwtWebFilter(tokenProvider,
+            new ReactiveMemberDetailsService(mock(MemberRepository.class), tokenProvider, mock(ReactiveMemberEmailResolver.class)),
+            verifiedTokenCache, tokenDenylist, new ReactiveErrorResponseWriter(new ObjectMapper()), new AuthMetrics());
+
+    private final String token = tokenProvider.createAccessToken("user@user.com",
+            Collections.singleton(new Authority(MemberAuth.ROLE_USER)));
+
+    @BeforeEach
+    void setUp() {
+        when(revokedTokenRepository.insert(anyString(), anyLong())).thenReturn(Mono.just(1));
+    }
+
+    @Test
+    void cachedTokenPasses() {
+        assertThat(filter().getResponse().getStatusCode()).isNull();
+        assertThat(filter().getResponse().getStatusCode()).isNull();
+        assertThat(verifiedTokenCache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void tokenRevokedBeforePutIsRejectedFromCache() {
+        revokeBeforePut = true;
+        assertThat(filter().getResponse().getStatusCode()).isNull(); // 폐기 전에 확인한 요청은 통과
+        revokeBeforePut = false;
+        assertThat(verifiedTokenCache.size()).isEqualTo(1); // 폐기된 토큰이 캐시에 남음
+
+        MockServerWebExchange exchange = filter();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(exchange.getResponse().getBodyAsString().block()).contains("REVOKED_TOKEN");
+        assertThat(verifiedTokenCache.size()).isZero();
+    }
+
+    // 체인까지 가면 응답 상태를 정하지 않으므로 null
+    private MockServerWebExchange filter() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/member")
+                .header(HttpHeaders.AUTHORIZATION, JwtWebFilter.BEARER_PREFIX + token));
+        jwtWebFilter.filter(exchange, filtered -> Mono.empty()).block();
+        return exchange;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.reactive.service;
+
+import com.example.demo.exceptionhandler.BizException;
+import com.example.demo.exceptionhandler.RequestExceptionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReactivePasswordEncoder : 스케줄러 대기열이 가득 차면 500 이 아닌 503 LOGIN_BUSY
+ **/
+class ReactivePasswordEncoderTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    // 쓰레드 1개, 대기 1개
+    private final ReactivePasswordEncoder encoder = new ReactivePasswordEncoder(blockingEncoder(), 1, 1);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void matchesOnScheduler() {
+        release.countDown();
+
+        StepVerifier.create(encoder.matches("1234", "1234"))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void rejectsWithLoginBusyWhenQueueIsFull() throws Exception {
+        encoder.matches("1234", "1234").subscribe(); // 쓰레드를 잡고 있음
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        encoder.matches("1234", "1234").subscribe(); // 대기열
+
+        StepVerifier.create(encoder.matches("1234", "1234"))
+                .expectErrorSatisfies(e -> assertThat(((BizException) e).getBaseExceptionType())
+                        .isEqualTo(RequestExceptionType.LOGIN_BUSY))
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        PasswordEncoder delegate = NoOpPasswordEncoder.getInstance();
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return delegate.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return delegate.matches(rawPassword, encodedPassword);
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.jwt;
+
+import com.example.demo.model.Authority;
+import com.example.demo.model.MemberAuth;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 벤치마크에서 공통으로 쓰는 TokenProvider, 권한, 이메일 생성
+ **/
+final class BenchmarkSupport {
+    private BenchmarkSupport() { } // 인스턴스 생성 X
+
+    // application.yml 의 jwt.secret 과 동일
+    static final String SECRET = "aGVsbG8tbXktcmVhbC1uYW1lLWlzLXdvbmp1bi10aGlzLWtleS1pcy12ZXJ5LWltcG9ydGFudC1zby1iZS1jYXJlZnVsLXRoYW5rLXlvdQ==";
+    static final long ACCESS_TOKEN_EXPIRE_TIME = 1800000;
+    static final long REFRESH_TOKEN_EXPIRE_TIME = 604800000;
+
+    static TokenProvider tokenProvider(String verifier) {
+        return new TokenProvider(SECRET, ACCESS_TOKEN_EXPIRE_TIME, REFRESH_TOKEN_EXPIRE_TIME, verifier, false, memberId -> null);
+    }
+
+    /**
+     * @param count 앞에서부터 MemberAuth 몇 개를 넣을지 (최대 MemberAuth.values().length)
+     */
+    static Set<Authority> authorities(int count) {
+        Set<Authority> set = new LinkedHashSet<>();
+        Arrays.stream(MemberAuth.values())
+                .limit(count)
+                .map(Authority::new)
+                .forEach(set::add);
+        return set;
+    }
+
+    /**
+     * @param length 이메일 전체 길이 (토큰 크기를 조절하기 위함)
+     */
+    static String email(int length) {
+        String domain = "@example.com";
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() + domain.length() < length) {
+            builder.append('m');
+        }
+        return builder.append(domain).toString();
+    }
+}
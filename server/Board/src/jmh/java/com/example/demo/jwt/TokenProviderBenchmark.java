@@ -0,0 +1,78 @@
+package com.example.demo.jwt;
+
+import com.example.demo.model.Authority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.Authentication;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TokenProviderBenchmark 설명 : 토큰 발급부터 필터에서 Authentication 을 만들기까지 각 단계의 비용
+ * 권한 개수, 이메일 길이(토큰 크기), 검증 엔진을 바꿔가며 측정 (gc 프로파일러로 할당량도 같이 확인)
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenProviderBenchmark {
+
+    @Param({"1", "2"})
+    public int authorityCount;
+
+    @Param({"16", "64", "256"})
+    public int emailLength;
+
+    @Param({"jjwt", "fast"})
+    public String verifier;
+
+    private TokenProvider tokenProvider;
+    private String email;
+    private Set<Authority> authorities;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = BenchmarkSupport.tokenProvider(verifier);
+        email = BenchmarkSupport.email(emailLength);
+        authorities = BenchmarkSupport.authorities(authorityCount);
+        accessToken = tokenProvider.createAccessToken(email, authorities);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return tokenProvider.createAccessToken(email, authorities);
+    }
+
+    @Benchmark
+    public String createRefreshToken() {
+        return tokenProvider.createRefreshToken(email, authorities);
+    }
+
+    @Benchmark
+    public int validateToken() {
+        return tokenProvider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(accessToken);
+    }
+
+    @Benchmark
+    public String getMemberEmailByToken() {
+        return tokenProvider.getMemberEmailByToken(accessToken);
+    }
+
+    // JwtFilter 에서 실제로 타는 경로 : verify 한 번 + 검증 결과로 Authentication 생성
+    @Benchmark
+    public Authentication filterPath() {
+        return tokenProvider.getAuthentication(tokenProvider.verify(accessToken));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo.jwt;
+
+import com.example.demo.model.Authority;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * TokenSigningComparisonBenchmark 설명 : 요청마다 빌더, 파서를 새로 만들던 예전 방식과
+ * TokenProvider 가 파서와 서명기를 재사용하는 지금 방식을 비교
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenSigningComparisonBenchmark {
+
+    private TokenProvider tokenProvider;
+    private Key key;
+    private String email;
+    private Set<Authority> authorities;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = BenchmarkSupport.tokenProvider("jjwt");
+        key = tokenProvider.getKey();
+        email = BenchmarkSupport.email(24);
+        authorities = BenchmarkSupport.authorities(2);
+        accessToken = tokenProvider.createAccessToken(email, authorities);
+    }
+
+    // 예전 createToken : 클레임 맵, 빌더, 직렬화기, Mac 을 매번 새로 만듦
+    @Benchmark
+    public String signWithBuilderPerCall() {
+        Claims claims = Jwts.claims().setSubject(email);
+        claims.put("auth", authorities.stream()
+                .map(Authority::getAuthorityName)
+                .collect(Collectors.joining(",")));
+        Date now = new Date();
+        return Jwts.builder()
+                .setClaims(claims)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + BenchmarkSupport.ACCESS_TOKEN_EXPIRE_TIME))
+                .signWith(key, SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    @Benchmark
+    public String signWithSharedSigner() {
+        return tokenProvider.createAccessToken(email, authorities);
+    }
+
+    // 예전 validateToken : 요청마다 파서를 새로 만듦
+    @Benchmark
+    public Object parseWithParserPerCall() {
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(accessToken).getBody();
+    }
+
+    @Benchmark
+    public Object parseWithSharedParser() {
+        return tokenProvider.verify(accessToken);
+    }
+}
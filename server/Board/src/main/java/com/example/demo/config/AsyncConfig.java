@@ -0,0 +1,34 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * AsyncConfig : @Async 메서드를 applicationTaskExecutor 에서 실행하면서 호출한 쓰레드의 SecurityContext 를 넘겨줌
+ * applicationTaskExecutor 는 기본적으로 스프링 부트의 쓰레드 풀, spring.threads.virtual.enabled 면 가상 쓰레드 (VirtualThreadConfig)
+ **/
+@EnableAsync
+@Configuration
+public class AsyncConfig implements AsyncConfigurer {
+
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    // AsyncConfigurer 는 일찍 만들어지므로 Executor 는 처음 사용할 때 가져옴
+    public AsyncConfig(@Lazy @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                       AsyncTaskExecutor applicationTaskExecutor) {
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return new DelegatingSecurityContextAsyncTaskExecutor(applicationTaskExecutor);
+    }
+}
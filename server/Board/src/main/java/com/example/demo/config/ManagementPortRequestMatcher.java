@@ -0,0 +1,34 @@
+package com.example.demo.config;
+
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * ManagementPortRequestMatcher 설명 : 관리 포트(management.server.port)로 들어온 요청인지 검사
+ * 관리 포트는 actuator 용 자식 컨텍스트의 웹서버가 뜰 때 알 수 있으므로 (0 이면 임의 포트) 그 이벤트에서 포트를 저장
+ * 관리 포트를 따로 두지 않으면 아무 요청도 매치하지 않음
+ **/
+@Component
+public class ManagementPortRequestMatcher implements RequestMatcher, ApplicationListener<WebServerInitializedEvent> {
+
+    private static final String MANAGEMENT_NAMESPACE = "management";
+
+    private volatile int port = -1;
+
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if (MANAGEMENT_NAMESPACE.equals(event.getApplicationContext().getServerNamespace())) {
+            port = event.getWebServer().getPort();
+        }
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        int port = this.port;
+        return port > 0 && request.getLocalPort() == port;
+    }
+}
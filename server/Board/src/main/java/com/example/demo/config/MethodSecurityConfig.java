@@ -0,0 +1,21 @@
+package com.example.demo.config;
+
+import com.example.demo.jwt.RoleMaskMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
+import org.springframework.security.config.annotation.method.configuration.GlobalMethodSecurityConfiguration;
+
+/**
+ * MethodSecurityConfig : @PreAuthorize 설정
+ * 원래 SecurityConfig 에 @EnableGlobalMethodSecurity 가 붙어있었으나
+ * expression handler 를 바꾸려면 GlobalMethodSecurityConfiguration 을 상속해야 해서 따로 뺌
+ * hasRole('ROLE_ADMIN') 같은 검사는 RoleMaskSecurityExpressionRoot 가 권한 비트마스크로 처리
+ **/
+@EnableGlobalMethodSecurity(prePostEnabled = true) // @PreAuthorize 사용을 위함
+public class MethodSecurityConfig extends GlobalMethodSecurityConfiguration {
+
+    @Override
+    protected MethodSecurityExpressionHandler createExpressionHandler() {
+        return new RoleMaskMethodSecurityExpressionHandler();
+    }
+}
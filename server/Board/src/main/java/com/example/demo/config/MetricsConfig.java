@@ -0,0 +1,19 @@
+package com.example.demo.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MetricsConfig : @Timed 를 붙인 서비스, 리포지토리 메서드의 실행 시간을 측정하기 위한 설정
+ * 스프링 MVC 컨트롤러가 아닌 빈의 @Timed 는 TimedAspect 빈이 있어야 동작
+ **/
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
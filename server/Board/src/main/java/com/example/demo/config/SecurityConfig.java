@@ -1,15 +1,16 @@
 package com.example.demo.config;
 
 
+import com.example.demo.exceptionhandler.ErrorResponseWriter;
 import com.example.demo.jwt.CustomEmailPasswordAuthProvider;
 import com.example.demo.jwt.JwtFilter;
 import com.example.demo.jwt.TokenProvider;
 import com.example.demo.jwt.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
-import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -29,16 +30,27 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
  ExceptionHandling 부분에 보면 entrypoint 와 accessDeniedHandler가 있는데 각각 401과 403 에러
 
+ @PreAuthorize 설정은 MethodSecurityConfig 로 옮김
+
  **/
 
 @EnableWebSecurity // 기본적인 웹보안을 사용하겠다는 것
-@EnableGlobalMethodSecurity(prePostEnabled = true) // @PreAuthorize 사용을 위함
 @RequiredArgsConstructor
 public class SecurityConfig extends WebSecurityConfigurerAdapter { // WebSecurityConfigurerAdapter 를 확장하면 보안 관련된 설정을 커스터마이징 할 수 있음
     private final TokenProvider tokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final TokenDenylist tokenDenylist;
+    private final RateLimiters rateLimiters;
+    private final AuthMetrics authMetrics;
+
+    // true 면 응답에 Server-Timing 헤더를 붙임 (ServerTimingConfig)
+    @Value("${server-timing.enabled:false}")
+    private boolean serverTimingEnabled;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAccessDeniedHandler jwtAccessDeniedHandler;
     private final CustomEmailPasswordAuthProvider customEmailPasswordAuthProvider;
+    private final ManagementPortRequestMatcher managementPortRequestMatcher;
 
 
     /*
@@ -56,10 +68,13 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter { // WebSecurit
     }
 
     // h2 database 테스트가 원활하도록 관련 API 들은 전부 무시
+    // 관리 포트로 들어온 요청(actuator)도 시큐리티 필터를 거치지 않음 -> Prometheus 가 토큰 없이 수집
+    // 관리 포트는 내부망(수집 서버)에서만 열어둬야 함 (application.yml management.server 참고)
     @Override
     public void configure(WebSecurity web) {
         web.ignoring()
-                .antMatchers("/h2-console/**", "/favicon.ico");
+                .antMatchers("/h2-console/**", "/favicon.ico")
+                .requestMatchers(managementPortRequestMatcher);
     }
 
 
@@ -91,6 +106,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter { // WebSecurit
                 .authorizeRequests() // http servletRequest 를 사용하는 요청들에 대한 접근제한을 설정
                 .antMatchers("/auth/**").permitAll()
                 .antMatchers("/v3/api-docs", "/configuration/**", "/swagger*/**", "/webjars/**").permitAll() // swagger3
+                .antMatchers("/actuator/**").hasRole("ADMIN") // 관리 포트를 따로 두지 않은 경우의 actuator
 
                 .anyRequest().authenticated()   // 나머지 API 는 전부 인증 필요
 
@@ -98,6 +114,17 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter { // WebSecurit
                 // UsernamePasswordAuthenticationFilter 앞에 등록하는 이유는 딱히 없지만
                 // SecurityContext를 사용하기 때문에 앞단의 필터에서 SecurityContext가 설정되고 난뒤 필터를 둔다.
                 .and()
-                .addFilterBefore(new JwtFilter(tokenProvider), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(new JwtFilter(tokenProvider, verifiedTokenCache, errorResponseWriter, tokenDenylist, authMetrics), UsernamePasswordAuthenticationFilter.class);
+
+        // Server-Timing 은 JwtFilter 부터의 모든 단계를 측정해야 하므로 가장 앞에 둔다.
+        if (serverTimingEnabled) {
+            http.addFilterBefore(new ServerTimingFilter(), JwtFilter.class);
+        }
+
+        // 요청 수 제한 : /auth/** 는 토큰 검사 전에 IP 로, 나머지는 JwtFilter 가 인증한 뒤 이메일로 제한 (429 + Retry-After)
+        if (rateLimiters.isEnabled()) {
+            http.addFilterBefore(RateLimitFilter.byClientIp(rateLimiters.getAuth(), errorResponseWriter), JwtFilter.class)
+                    .addFilterAfter(RateLimitFilter.byPrincipal(rateLimiters.getApi(), errorResponseWriter), JwtFilter.class);
+        }
     }
 }
\ No newline at end of file
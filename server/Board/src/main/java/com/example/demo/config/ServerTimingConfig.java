@@ -0,0 +1,54 @@
+package com.example.demo.config;
+
+import com.example.demo.util.ServerTiming;
+import com.example.demo.util.ServerTiming.Phase;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ServerTimingConfig : server-timing.enabled 일 때 Server-Timing 헤더의 단계들을 채우는 설정
+ * ctrl : 핸들러 인터셉터의 preHandle 부터 ServerTimingResponseAdvice(직렬화 직전) 까지
+ * db   : 스프링 데이터 리포지토리 호출 시간 (RepositoryMethodInvocationListener), JdbcTemplate 리포지토리는 직접 기록
+ * 토큰 관련 단계(resolve, verify, auth)는 JwtFilter 와 TokenProvider 가 기록
+ **/
+@Configuration
+@ConditionalOnProperty(name = "server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                ServerTiming.markControllerStart();
+                return true;
+            }
+        });
+    }
+
+    // 모든 JPA 리포지토리 호출이 끝날 때 걸린 시간을 db 단계에 더함
+    @Bean
+    public static BeanPostProcessor serverTimingRepositoryListener() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport) {
+                    ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                            factory.addInvocationListener(invocation ->
+                                    ServerTiming.add(Phase.DB, invocation.getDuration(TimeUnit.NANOSECONDS))));
+                }
+                return bean;
+            }
+        };
+    }
+}
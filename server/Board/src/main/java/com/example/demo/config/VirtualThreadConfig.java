@@ -0,0 +1,48 @@
+package com.example.demo.config;
+
+import com.example.demo.util.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * VirtualThreadConfig : spring.threads.virtual.enabled=true 일 때 요청 처리와 @Async 작업을 가상 쓰레드에서 실행
+ * (JDK 21 이상 필요, 스프링 부트 3.2 의 같은 이름 설정과 동작을 맞춤)
+ *
+ * 기본 Tomcat 은 200 개 쓰레드 풀이라 MySQL 왕복이나 카카오 API 호출을 기다리는 동안 쓰레드가 묶여있음
+ * 가상 쓰레드는 블로킹 I/O 에서 캐리어 쓰레드를 놓아주므로 동시 요청 수가 쓰레드 수에 묶이지 않는다.
+ *
+ * - 요청 하나는 처음부터 끝까지 가상 쓰레드 하나에서 처리되므로
+ *   SecurityContextHolder, @Transactional(TransactionSynchronizationManager) 의 ThreadLocal 은 그대로 동작
+ * - @Async 는 다른 쓰레드이므로 AsyncConfig 에서 SecurityContext 를 넘겨줌 (트랜잭션은 기존처럼 이어지지 않음)
+ * - DB 동시 실행 수는 쓰레드 대신 Hikari 풀 크기가 제한한다.
+ **/
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Tomcat 의 요청 처리 쓰레드 풀을 요청마다 가상 쓰레드를 만드는 Executor 로 교체
+     * (server.tomcat.threads.* 설정은 무시됨, 연결 수는 server.tomcat.max-connections 로 제한)
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Tomcat 요청을 가상 쓰레드에서 처리합니다. (java {})", System.getProperty("java.version"));
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-vt-"));
+    }
+
+    /**
+     * 스프링 부트의 applicationTaskExecutor(@Async, MVC 비동기 처리) 를 가상 쓰레드로 대체
+     * 같은 이름의 빈이 있으면 TaskExecutionAutoConfiguration 의 쓰레드 풀은 만들어지지 않는다.
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreads.newThreadPerTaskExecutor("async-vt-"));
+    }
+}
@@ -1,13 +1,12 @@
 package com.example.demo.config;
 
 
-import com.example.demo.model.Authority;
 import com.example.demo.model.Member;
 import com.example.demo.model.MemberAuth;
 import com.example.demo.model.dto.MemberReqDTO;
-import com.example.demo.repository.AuthorityRepository;
 import com.example.demo.repository.MemberRepository;
 import com.example.demo.service.AuthService;
+import com.example.demo.service.AuthorityRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
@@ -36,14 +35,13 @@ public class initDataBaseForLocal {
     static class initDataBaseForLocalService {
         private final AuthService authService;
         private final MemberRepository memberRepository;
-        private final AuthorityRepository authorityRepository;
+        private final AuthorityRegistry authorityRegistry;
 
 
         @Transactional
         public void init() {
 
-            authorityRepository.save(new Authority(MemberAuth.ROLE_ADMIN));
-            authorityRepository.save(new Authority(MemberAuth.ROLE_USER));
+            authorityRegistry.seed(MemberAuth.ROLE_ADMIN, MemberAuth.ROLE_USER);
 
 
             authService.signup(new MemberReqDTO(
@@ -61,7 +59,7 @@ public class initDataBaseForLocal {
             Member admin = memberRepository.findByEmail("admin@admin.com").get();
             Member user = memberRepository.findByEmail("user@user.com").get();
 
-            admin.addAuthority(authorityRepository.findByAuthorityName(MemberAuth.ROLE_ADMIN).get());
+            admin.addAuthority(authorityRegistry.get(MemberAuth.ROLE_ADMIN));
             admin.activate(true);
             user.activate(true);
         }
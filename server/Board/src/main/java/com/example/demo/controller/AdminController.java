@@ -0,0 +1,93 @@
+package com.example.demo.controller;
+
+import com.example.demo.exceptionhandler.BizException;
+import com.example.demo.exceptionhandler.InternalServerExceptionType;
+import com.example.demo.exceptionhandler.RequestExceptionType;
+import com.example.demo.model.MemberAuth;
+import com.example.demo.model.dto.BulkTokenSummaryDTO;
+import com.example.demo.model.dto.MemberTokenDTO;
+import com.example.demo.service.AuthorityRegistry;
+import com.example.demo.service.BulkTokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 관리자 전용 API
+ * 토큰 일괄 발급은 이메일 목록을 CHUNK_SIZE 만큼 나눠서 처리하고 처리된 만큼 NDJSON 으로 바로 내려보낸다.
+ * 한 번에 admin.tokens.max-emails 개까지 (넘으면 400 TOO_MANY_ITEMS), 마지막 줄은 항상 BulkTokenSummaryDTO
+ * (청크는 각자 트랜잭션이므로 중간에 실패하면 앞의 청크는 발급된 상태로 complete=false 를 씀)
+ * 권한 테이블을 직접 수정했으면 /admin/authorities/reload 로 AuthorityRegistry 를 다시 읽는다.
+ **/
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin")
+public class AdminController {
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final BulkTokenService bulkTokenService;
+    private final AuthorityRegistry authorityRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${admin.tokens.max-emails:10000}")
+    private int maxEmails;
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/tokens")
+    public ResponseEntity<StreamingResponseBody> issueTokens(@RequestBody List<String> emails) {
+        if (emails.size() > maxEmails) {
+            throw new BizException(RequestExceptionType.TOO_MANY_ITEMS);
+        }
+        // 중복된 이메일은 한 번만 발급
+        List<String> distinctEmails = new ArrayList<>(new LinkedHashSet<>(emails));
+
+        StreamingResponseBody body = out -> {
+            int processed = 0;
+            BulkTokenSummaryDTO summary;
+            try {
+                for (int from = 0; from < distinctEmails.size(); from += BulkTokenService.CHUNK_SIZE) {
+                    List<String> chunk = distinctEmails.subList(from, Math.min(distinctEmails.size(), from + BulkTokenService.CHUNK_SIZE));
+                    for (MemberTokenDTO token : bulkTokenService.issueTokens(chunk)) {
+                        out.write(objectMapper.writeValueAsBytes(token));
+                        out.write('\n');
+                    }
+                    processed += chunk.size();
+                    out.flush();
+                }
+                summary = BulkTokenSummaryDTO.complete(distinctEmails.size());
+            } catch (BizException e) {
+                log.warn("issueTokens failed after {} of {} : {}", processed, distinctEmails.size(), e.getMessage());
+                summary = BulkTokenSummaryDTO.failed(distinctEmails.size(), processed, e.getBaseExceptionType().getErrorCode());
+            } catch (RuntimeException e) {
+                log.error("issueTokens failed after {} of {}", processed, distinctEmails.size(), e);
+                summary = BulkTokenSummaryDTO.failed(distinctEmails.size(), processed,
+                        InternalServerExceptionType.INTERNAL_SERVER_ERROR.getErrorCode());
+            }
+            out.write(objectMapper.writeValueAsBytes(summary));
+            out.write('\n');
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/authorities/reload")
+    public Set<MemberAuth> reloadAuthorities() {
+        return authorityRegistry.reload();
+    }
+}
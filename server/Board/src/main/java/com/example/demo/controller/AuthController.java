@@ -41,4 +41,10 @@ public class AuthController {
     public TokenDTO reissue(@RequestBody TokenReqDTO tokenRequestDto) {
         return authService.reissue(tokenRequestDto);
     }
+
+    // 엑세스 토큰을 만료 전에 폐기하고 리프레시 토큰을 삭제
+    @PostMapping("/logout")
+    public void logout(@RequestBody TokenReqDTO tokenRequestDto) {
+        authService.logout(tokenRequestDto);
+    }
 }
\ No newline at end of file
@@ -5,7 +5,8 @@ import org.springframework.http.HttpStatus;
 
 @Getter
 public enum AuthorityExceptionType implements BaseExceptionType{
-    NOT_FOUND_AUTHORITY("NOT_FOUND_AUTHORITY","존재하지 않는 권한 입니다.", HttpStatus.BAD_REQUEST);
+    NOT_FOUND_AUTHORITY("NOT_FOUND_AUTHORITY","존재하지 않는 권한 입니다.", HttpStatus.BAD_REQUEST),
+    ACCESS_DENIED("ACCESS_DENIED","접근 권한이 없습니다.", HttpStatus.FORBIDDEN);
 
     private final String errorCode;
     private final String message;
@@ -0,0 +1,132 @@
+package com.example.demo.exceptionhandler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ErrorResponseWriter 설명 : 에러 응답 바디(ErrorResult)를 시작할 때 미리 UTF-8 byte[] 로 만들어두고 그대로 쓰는 객체
+ * 예전에는 JwtFilter 가 에러마다 PrintWriter 로 한글 JSON 문자열을 찍고 (요청마다 인코딩)
+ * ExceptionHandler 는 ErrorResult 를 직렬화 하는 등 에러 응답을 각자 만들었음
+ * 에러 응답의 바디는 ExceptionType 마다 항상 같으므로 한 번만 만들어서 Content-Length 와 함께 바로 출력 스트림에 쓴다.
+ * (크리덴셜 스터핑 같은 공격 상황에서는 대부분의 응답이 거절 응답이므로 가장 싸게 만들어야 함)
+ *
+ * JwtFilter 의 거절 응답(403)은 클라이언트가 이미 {"error","message"} 모양에 맞춰져 있으므로 그 모양을 그대로 유지 (writeFilterRejection)
+ * EMPTY_TOKEN, BAD_TOKEN, ACCESS_TOKEN_EXPIRED 는 예전 필터가 찍던 문자열과 같은 바이트
+ **/
+@Component
+public class ErrorResponseWriter {
+
+    private static final String CONTENT_TYPE = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8";
+
+    private final ObjectMapper objectMapper;
+
+    // 예전 JwtFilter 가 PrintWriter 로 찍던 바디
+    private static final Map<BaseExceptionType, String> LEGACY_FILTER_BODIES = Map.of(
+            JwtExceptionType.EMPTY_TOKEN, "{\"error\": \"EMPTY_TOKEN\", \"message\" : \"토큰 값이 비어있습니다.\"}",
+            JwtExceptionType.BAD_TOKEN, "{\"error\": \"BAD_TOKEN\", \"message\" : \"잘못된 토큰 값입니다.\"}",
+            JwtExceptionType.ACCESS_TOKEN_EXPIRED, "{\"error\": \"ACCESS_TOKEN_EXPIRED\", \"message\" : \"엑세스토큰이 만료되었습니다.\"}");
+
+    // ExceptionType -> {"code":"..","message":".."}
+    private final Map<BaseExceptionType, byte[]> bodies = new ConcurrentHashMap<>();
+
+    // ExceptionType -> {"error":"..","message":".."} (필터 거절 응답)
+    private final Map<BaseExceptionType, byte[]> filterBodies = new ConcurrentHashMap<>();
+
+    public ErrorResponseWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        register(JwtExceptionType.values());
+        register(MemberExceptionType.values());
+        register(AuthorityExceptionType.values());
+        register(InternalServerExceptionType.values());
+        register(RequestExceptionType.values());
+    }
+
+    private void register(BaseExceptionType[] types) {
+        for (BaseExceptionType type : types) {
+            bodies.put(type, encode(type));
+            filterBodies.put(type, encodeFilterBody(type));
+        }
+    }
+
+    /**
+     * @return 미리 만들어둔 바디, 등록되지 않은 타입이면 만들어서 등록
+     */
+    public byte[] body(BaseExceptionType type) {
+        return bodies.computeIfAbsent(type, this::encode);
+    }
+
+    /**
+     * ExceptionType 의 상태코드로 에러 응답을 쓴다.
+     */
+    public void write(HttpServletResponse response, BaseExceptionType type) throws IOException {
+        write(response, type.getHttpStatus(), type);
+    }
+
+    /**
+     * 필터 등에서 상태코드를 따로 정해서 에러 응답을 쓴다. ex) 인증 실패는 401
+     */
+    public void write(HttpServletResponse response, HttpStatus status, BaseExceptionType type) throws IOException {
+        write(response, status, body(type));
+    }
+
+    /**
+     * JwtFilter 의 토큰 거절 응답을 쓴다. 기존과 같이 403, {"error","message"} 바디
+     */
+    public void writeFilterRejection(HttpServletResponse response, BaseExceptionType type) throws IOException {
+        write(response, HttpStatus.FORBIDDEN, filterBodies.computeIfAbsent(type, this::encodeFilterBody));
+    }
+
+    private void write(HttpServletResponse response, HttpStatus status, byte[] body) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(body.length);
+        ServletOutputStream out = response.getOutputStream();
+        out.write(body);
+        out.flush();
+    }
+
+    /**
+     * @return ExceptionHandler 에서 그대로 리턴할 수 있는 응답 (ByteArrayHttpMessageConverter 가 그대로 씀)
+     */
+    public ResponseEntity<byte[]> toResponseEntity(BaseExceptionType type) {
+        return ResponseEntity.status(type.getHttpStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body(type));
+    }
+
+    private byte[] encode(BaseExceptionType type) {
+        try {
+            return objectMapper.writeValueAsBytes(ErrorResult.create(type)); // Jackson 은 항상 UTF-8
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] encodeFilterBody(BaseExceptionType type) {
+        String legacy = LEGACY_FILTER_BODIES.get(type);
+        if (legacy != null) {
+            return legacy.getBytes(StandardCharsets.UTF_8);
+        }
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("error", type.getErrorCode());
+        body.put("message", type.getMessage());
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
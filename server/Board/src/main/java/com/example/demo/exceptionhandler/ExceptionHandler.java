@@ -1,6 +1,7 @@
 package com.example.demo.exceptionhandler;
 
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,14 +16,18 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
  **/
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class ExceptionHandler {
 
+    // BizException 과 권한 오류의 바디는 미리 만들어둔 바이트를 그대로 사용
+    private final ErrorResponseWriter errorResponseWriter;
+
     /**
      * 정의한 예외타입에 걸리는 경우는 아래의 메소드에서 예외가 던져짐
      **/
     @org.springframework.web.bind.annotation.ExceptionHandler(BizException.class)
-    public ResponseEntity<ErrorResult> bizException(BizException e){
-        return new ResponseEntity<>(ErrorResult.create(e.getBaseExceptionType()), e.getBaseExceptionType().getHttpStatus());
+    public ResponseEntity<byte[]> bizException(BizException e){
+        return errorResponseWriter.toResponseEntity(e.getBaseExceptionType());
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(AuthenticationException.class)
@@ -31,13 +36,13 @@ public class ExceptionHandler {
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(AccessDeniedException.class)
-    public ResponseEntity<ErrorResult> accessDeniedException(AccessDeniedException e) {
-        return new ResponseEntity<>(new ErrorResult("ACCESS_DENIED",e.getMessage()),HttpStatus.FORBIDDEN);
+    public ResponseEntity<byte[]> accessDeniedException(AccessDeniedException e) {
+        return errorResponseWriter.toResponseEntity(AuthorityExceptionType.ACCESS_DENIED);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResult> notResolvedException(Exception e){
-        return new ResponseEntity<>(ErrorResult.create(InternalServerExceptionType.INTERNAL_SERVER_ERROR),HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<byte[]> notResolvedException(Exception e){
+        return errorResponseWriter.toResponseEntity(InternalServerExceptionType.INTERNAL_SERVER_ERROR);
     }
 
     /**
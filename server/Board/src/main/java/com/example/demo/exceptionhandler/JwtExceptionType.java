@@ -10,6 +10,7 @@ public enum JwtExceptionType implements BaseExceptionType{
     REFRESH_TOKEN_EXPIRED("REFRESH_TOKEN_EXPIRED","리프레시 토큰의 유효기간이 만료되었습니다.",HttpStatus.BAD_REQUEST),
     BAD_TOKEN("BAD_TOKEN","잘못된 토큰 값입니다.",HttpStatus.BAD_REQUEST),
     EMPTY_TOKEN("EMPTY_TOKEN","토큰 값이 비어있습니다.",HttpStatus.BAD_REQUEST),
+    REVOKED_TOKEN("REVOKED_TOKEN","로그아웃 등으로 폐기된 토큰입니다.",HttpStatus.BAD_REQUEST),
     ;
 
     private final String errorCode;
@@ -0,0 +1,36 @@
+package com.example.demo.exceptionhandler;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public enum RequestExceptionType implements BaseExceptionType{
+    TOO_MANY_REQUESTS("TOO_MANY_REQUESTS","요청이 너무 많습니다. 잠시 후 다시 시도해주세요.", HttpStatus.TOO_MANY_REQUESTS),
+    LOGIN_BUSY("LOGIN_BUSY","로그인 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.", HttpStatus.SERVICE_UNAVAILABLE),
+    TOO_MANY_ITEMS("TOO_MANY_ITEMS","한 번에 요청할 수 있는 개수를 넘었습니다.", HttpStatus.BAD_REQUEST);
+
+    private final String errorCode;
+    private final String message;
+    private final HttpStatus httpStatus;
+
+    RequestExceptionType(String errorCode, String message, HttpStatus httpStatus) {
+        this.errorCode = errorCode;
+        this.message = message;
+        this.httpStatus = httpStatus;
+    }
+
+    @Override
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public HttpStatus getHttpStatus() {
+        return httpStatus;
+    }
+}
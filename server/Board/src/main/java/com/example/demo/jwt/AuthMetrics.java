@@ -0,0 +1,88 @@
+package com.example.demo.jwt;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthMetrics 설명 : 인증 단계별 Micrometer 타이머
+ * auth.jwt.filter     : JwtFilter 의 결과(outcome)와 flag 별 처리 시간 (다음 필터 체인 시간은 제외)
+ * auth.password.check : PasswordVerificationExecutor 의 비밀번호 비교(BCrypt) 시간 (대기 시간 제외)
+ * 요청마다 태그로 Timer 를 찾지 않도록 bindTo 에서 모든 조합을 미리 등록해둔다.
+ * 생성자에서 MeterRegistry 를 받지 않음 : MeterBinder 인 PasswordVerificationExecutor 가 이 객체를 주입받으므로
+ * 레지스트리 -> 바인더 -> AuthMetrics -> 레지스트리 순환 참조가 생김 (TokenProvider 와 같이 bindTo 전에는 기록하지 않음)
+ * (토큰 서명/검증은 TokenProvider, 서비스 메서드는 @Timed, JPA 리포지토리는 스프링 데이터 메트릭)
+ **/
+@Component
+public class AuthMetrics implements MeterBinder {
+
+    /**
+     * JwtFilter 의 처리 결과, flag 는 validateToken 의 리턴값(1, 2, -1)과 같음
+     */
+    public enum FilterOutcome {
+        VALID(1),
+        CACHED(1),
+        EXPIRED(2),
+        INVALID(-1),
+        MALFORMED(-1),
+        EMPTY(-1),
+        REVOKED(-1);
+
+        private final int flag;
+
+        FilterOutcome(int flag) {
+            this.flag = flag;
+        }
+    }
+
+    private static final MeterRegistry UNBOUND = new CompositeMeterRegistry();
+
+    private volatile Map<FilterOutcome, Timer> filterTimers = filterTimers(UNBOUND);
+    private volatile Timer passwordMatched = passwordTimer(UNBOUND, "match");
+    private volatile Timer passwordMismatched = passwordTimer(UNBOUND, "mismatch");
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.filterTimers = filterTimers(registry);
+        this.passwordMatched = passwordTimer(registry, "match");
+        this.passwordMismatched = passwordTimer(registry, "mismatch");
+    }
+
+    private static Map<FilterOutcome, Timer> filterTimers(MeterRegistry registry) {
+        Map<FilterOutcome, Timer> timers = new EnumMap<>(FilterOutcome.class);
+        for (FilterOutcome outcome : FilterOutcome.values()) {
+            timers.put(outcome, Timer.builder("auth.jwt.filter")
+                    .description("JwtFilter 처리 시간 (결과별)")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .tag("flag", Integer.toString(outcome.flag))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        return timers;
+    }
+
+    private static Timer passwordTimer(MeterRegistry registry, String result) {
+        return Timer.builder("auth.password.check")
+                .description("비밀번호 비교(PasswordEncoder.matches) 시간")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * @param startNanos 필터에 들어온 시간 (System.nanoTime)
+     */
+    public void recordFilter(FilterOutcome outcome, long startNanos) {
+        filterTimers.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPasswordCheck(boolean matched, long startNanos) {
+        (matched ? passwordMatched : passwordMismatched).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
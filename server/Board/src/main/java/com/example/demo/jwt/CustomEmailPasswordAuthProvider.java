@@ -10,7 +10,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.mapping.GrantedAuthoritiesMapper;
 import org.springframework.security.core.authority.mapping.NullAuthoritiesMapper;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 @Slf4j
@@ -18,7 +17,7 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class CustomEmailPasswordAuthProvider implements AuthenticationProvider {
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
     private final CustomUserDetailsService customUserDetailsService;
     private GrantedAuthoritiesMapper authoritiesMapper = new NullAuthoritiesMapper();
 
@@ -35,19 +34,18 @@ public class CustomEmailPasswordAuthProvider implements AuthenticationProvider {
         String presentedPassword = authentication.getCredentials().toString();
         log.debug("authentication.presentedPassword = {}", presentedPassword);
 
-        if (!this.passwordEncoder.matches(presentedPassword, userDetails.getPassword())) {
+        // BCrypt 는 요청 쓰레드가 아닌 전용 쓰레드에서 (바쁘면 LOGIN_BUSY)
+        boolean matched = passwordVerificationExecutor.matches(presentedPassword, userDetails.getPassword());
+
+        if (!matched) {
             throw new BizException(MemberExceptionType.WRONG_PASSWORD);
         }
     }
 
+    // principal 은 이메일만 믿고 멤버는 항상 다시 조회 (호출한 쪽이 만든 UserDetails 의 비밀번호로 검증하지 않도록)
     @Override
     public Authentication authenticate(Authentication authentication) throws BizException {
-        UserDetails user = null;
-        try {
-            user = retrieveUser(authentication.getName());
-        } catch (BizException ex) {
-            throw ex;
-        }
+        UserDetails user = retrieveUser(authentication.getName());
 
         Object principalToReturn = user;
         CustomEmailPasswordAuthToken result = new CustomEmailPasswordAuthToken(principalToReturn
@@ -74,6 +72,11 @@ public class CustomEmailPasswordAuthProvider implements AuthenticationProvider {
                     "내부 인증 로직중 알수 없는 오류가 발생하였습니다.");
         }
     }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return CustomEmailPasswordAuthToken.class.isAssignableFrom(authentication);
+    }
 }
 
 
@@ -0,0 +1,177 @@
+package com.example.demo.jwt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import javax.crypto.Mac;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * FastJwtVerifier 설명 : HS512 전용으로 직접 구현한 검증 엔진
+ * 프로파일을 보면 jjwt 는 서명보다 클레임 전체를 Jackson 으로 Map 에 담는 비용이 더 큼
+ *
+ * 1. 정규식 없이 '.' 위치만 찾아서 header.payload.signature 로 나눈다.
+ * 2. 헤더의 alg 가 HS512 인지 확인
+ * 3. header.payload 원본 바이트에 대해 쓰레드마다 재사용하는 Mac 으로 HMAC 을 계산하고 상수 시간으로 비교
+ * 4. 서명이 맞을 때만 payload 를 디코딩하고 스트리밍 파서로 sub, exp, nbf, auth, rm 만 꺼낸다. (나머지 클레임은 건너뜀)
+ *
+ * 만료 판단은 jjwt 와 동일하게 현재시간이 exp 보다 뒤인 경우 (clock skew 없음)
+ * sub, auth, jti 가 객체나 배열이면 null, exp, nbf 가 정수가 아니거나 밀리초로 바꿀 수 없을 만큼 크면 INVALID (JjwtTokenVerifier 도 같음)
+ **/
+final class FastJwtVerifier implements TokenVerifier {
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    // exp, nbf (초) 의 허용 범위, 밀리초로 바꿔도 long 을 넘지 않는 값까지
+    static final long MAX_SECONDS = Long.MAX_VALUE / 1000;
+    private static final long INVALID_TIME = Long.MIN_VALUE;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Mac prototype;
+    private final ThreadLocal<Mac> macs;
+
+    FastJwtVerifier(Key key) {
+        this.prototype = JwtSigner.newMac(key); // 키가 잘못된 경우 요청이 아니라 생성 시점에 실패하도록
+        this.macs = ThreadLocal.withInitial(() -> JwtSigner.newMac(key));
+    }
+
+    @Override
+    public VerifiedToken verify(String token) {
+        if (token == null) {
+            return VerifiedToken.INVALID;
+        }
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (first <= 0 || second < 0 || second == first + 1
+                || second == token.length() - 1 || token.indexOf('.', second + 1) >= 0) {
+            return VerifiedToken.INVALID;
+        }
+
+        try {
+            // base64url 문자가 아닌 문자는 '?' 가 되어 디코딩에서 실패함
+            byte[] ascii = token.getBytes(StandardCharsets.US_ASCII);
+
+            if (!isHs512Header(DECODER.decode(slice(ascii, 0, first)))) {
+                return VerifiedToken.INVALID;
+            }
+
+            Mac mac = JwtSigner.mac(prototype, macs);
+            mac.update(ascii, 0, second);
+            byte[] expected = mac.doFinal();
+            byte[] actual = DECODER.decode(slice(ascii, second + 1, ascii.length));
+            if (!MessageDigest.isEqual(expected, actual)) { // 상수 시간 비교
+                return VerifiedToken.INVALID;
+            }
+
+            return readClaims(DECODER.decode(slice(ascii, first + 1, second)));
+        } catch (IllegalArgumentException | IOException e) { // 잘못된 base64url, JSON
+            return VerifiedToken.INVALID;
+        }
+    }
+
+    private boolean isHs512Header(byte[] header) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(header)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            boolean hs512 = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("alg".equals(field)) {
+                    hs512 = value == JsonToken.VALUE_STRING && "HS512".equals(parser.getText());
+                } else if ("zip".equals(field) || "crit".equals(field)) {
+                    return false; // 압축, critical 헤더는 지원하지 않음 (jjwt 도 우리 토큰에 사용하지 않음)
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return hs512;
+        }
+    }
+
+    private VerifiedToken readClaims(byte[] payload) throws IOException {
+        String subject = null;
+        String authorities = null;
+        long expiration = Long.MAX_VALUE;
+        long notBefore = Long.MIN_VALUE;
+        long roleMask = VerifiedToken.NO_ROLE_MASK;
+        String tokenId = null;
+
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return VerifiedToken.INVALID;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "sub":
+                        subject = textOf(parser, value);
+                        break;
+                    case TokenProvider.AUTHORITIES_KEY:
+                        authorities = textOf(parser, value);
+                        break;
+                    case TokenProvider.ROLE_MASK_KEY:
+                        if (value == JsonToken.VALUE_NUMBER_INT) roleMask = parser.getLongValue();
+                        else parser.skipChildren();
+                        break;
+                    case "jti":
+                        tokenId = textOf(parser, value);
+                        break;
+                    case "exp":
+                        expiration = millisOf(parser, value);
+                        if (expiration == INVALID_TIME) return VerifiedToken.INVALID;
+                        break;
+                    case "nbf":
+                        notBefore = millisOf(parser, value);
+                        if (notBefore == INVALID_TIME) return VerifiedToken.INVALID;
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        if (now > expiration) {
+            return VerifiedToken.expired(subject, expiration, authorities, roleMask, tokenId);
+        }
+        if (now < notBefore) {
+            return VerifiedToken.INVALID;
+        }
+        return VerifiedToken.valid(subject, expiration, authorities, roleMask, tokenId);
+    }
+
+    // 객체, 배열 값은 건너뛰고 null (건너뛰지 않으면 다음 nextToken 이 값 안쪽을 읽어서 뒤의 exp 를 놓침)
+    private static String textOf(JsonParser parser, JsonToken value) throws IOException {
+        if (value.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+    }
+
+    // 초 -> 밀리초, 정수가 아니거나 밀리초로 바꿀 때 long 범위를 넘으면 INVALID_TIME
+    private static long millisOf(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+            return INVALID_TIME;
+        }
+        long seconds = parser.getLongValue();
+        if (seconds > MAX_SECONDS || seconds < -MAX_SECONDS) {
+            return INVALID_TIME;
+        }
+        return seconds * 1000;
+    }
+
+    private static byte[] slice(byte[] source, int from, int to) {
+        byte[] part = new byte[to - from];
+        System.arraycopy(source, from, part, 0, part.length);
+        return part;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.demo.jwt;
+
+import com.example.demo.model.MemberAuth;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GrantedAuthorityRegistry 설명 : auth 클레임 문자열 -> 공유하는 불변 권한 컬렉션
+ * 예전에는 요청마다 auth 클레임을 split 해서 SimpleGrantedAuthority 를 새로 만들었는데
+ * MemberAuth 의 권한 조합은 몇 개 없으므로 클레임 문자열마다 컬렉션을 하나만 만들어서 계속 재사용
+ * 워밍업 이후에는 클레임 -> Authentication 변환에서 권한 목록을 새로 만들지 않는다.
+ *
+ * 서명된 토큰의 클레임만 들어오지만 그래도 무한정 늘어나지 않도록 MAX_ENTRIES 까지만 등록
+ **/
+public final class GrantedAuthorityRegistry {
+    private GrantedAuthorityRegistry() { } // 인스턴스 생성 X
+
+    private static final int MAX_ENTRIES = 256;
+
+    // MemberAuth 하나당 SimpleGrantedAuthority 하나
+    private static final Map<MemberAuth, GrantedAuthority> authorityLookup = new EnumMap<>(MemberAuth.class);
+
+    // ex) "ROLE_USER,ROLE_ADMIN" -> [ROLE_USER, ROLE_ADMIN]
+    private static final Map<String, Collection<GrantedAuthority>> claimLookup = new ConcurrentHashMap<>();
+
+    // ex) "ROLE_USER,ROLE_ADMIN" -> 3, 기존 형식 토큰의 auth 클레임을 비트마스크로 바꿀 때 사용
+    private static final Map<String, Long> claimMaskLookup = new ConcurrentHashMap<>();
+
+    // rm 비트마스크 -> 권한 컬렉션, MemberAuth 가 몇 개 없으므로 모든 조합을 미리 만들어둠
+    private static final Collection<GrantedAuthority>[] maskLookup;
+
+    static {
+        for (MemberAuth auth : MemberAuth.values()) {
+            authorityLookup.put(auth, new SimpleGrantedAuthority(auth.getAbbreviation()));
+            claimLookup.put(auth.getAbbreviation(), List.of(authorityLookup.get(auth)));
+        }
+
+        @SuppressWarnings("unchecked")
+        Collection<GrantedAuthority>[] masks = new Collection[1 << MemberAuth.values().length];
+        for (int mask = 0; mask < masks.length; mask++) {
+            List<GrantedAuthority> list = new ArrayList<>();
+            for (MemberAuth auth : MemberAuth.values()) {
+                if ((mask & auth.getMask()) != 0) {
+                    list.add(authorityLookup.get(auth));
+                }
+            }
+            masks[mask] = Collections.unmodifiableList(list);
+        }
+        maskLookup = masks;
+    }
+
+    /**
+     * @param claim auth 클레임 값 ex) ROLE_USER,ROLE_ADMIN
+     * @return 같은 클레임이면 항상 같은 불변 컬렉션
+     */
+    public static Collection<GrantedAuthority> authorities(String claim) {
+        Collection<GrantedAuthority> authorities = claimLookup.get(claim);
+        if (authorities != null) {
+            return authorities;
+        }
+
+        authorities = create(claim);
+        if (claimLookup.size() < MAX_ENTRIES) {
+            Collection<GrantedAuthority> previous = claimLookup.putIfAbsent(claim, authorities);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        return authorities;
+    }
+
+    /**
+     * @param roleMask compact 토큰의 rm 클레임 (MemberAuth.getMask 의 합)
+     * @return 같은 마스크면 항상 같은 불변 컬렉션, 모르는 비트는 무시
+     */
+    public static Collection<GrantedAuthority> authorities(long roleMask) {
+        return maskLookup[(int) (roleMask & (maskLookup.length - 1))];
+    }
+
+    /**
+     * @param claim auth 클레임 값 ex) ROLE_USER,ROLE_ADMIN
+     * @return MemberAuth.getMask 의 합, MemberAuth 에 없는 권한은 비트가 없으므로 무시
+     */
+    public static long roleMask(String claim) {
+        Long mask = claimMaskLookup.get(claim);
+        if (mask != null) {
+            return mask;
+        }
+
+        long created = roleMask(authorities(claim));
+        if (claimMaskLookup.size() < MAX_ENTRIES) {
+            claimMaskLookup.putIfAbsent(claim, created);
+        }
+        return created;
+    }
+
+    /**
+     * @return 권한 컬렉션을 비트마스크로 (RoleMaskAuthentication 이 아닌 Authentication 용)
+     */
+    public static long roleMask(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0L;
+        for (GrantedAuthority authority : authorities) {
+            MemberAuth auth = MemberAuth.get(authority.getAuthority());
+            if (auth != null) {
+                mask |= auth.getMask();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @return 공유 권한 컬렉션을 사용하는 UserDetails (토큰에서 만드는 경우 비밀번호는 "")
+     */
+    public static MemberPrincipal principal(String username, String password, String claim) {
+        return new MemberPrincipal(username, password, authorities(claim));
+    }
+
+    private static Collection<GrantedAuthority> create(String claim) {
+        List<GrantedAuthority> list = new ArrayList<>();
+        for (String name : claim.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            MemberAuth auth = MemberAuth.get(trimmed);
+            list.add(auth != null ? authorityLookup.get(auth) : new SimpleGrantedAuthority(trimmed));
+        }
+        return Collections.unmodifiableList(list);
+    }
+}
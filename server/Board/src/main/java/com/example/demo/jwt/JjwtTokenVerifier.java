@@ -0,0 +1,94 @@
+package com.example.demo.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.security.Key;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * JjwtTokenVerifier 설명 : jjwt 의 JwtParser 로 검증하는 기본 엔진
+ * 파서는 불변이고 쓰레드 세이프하므로 하나만 만들어서 공유
+ **/
+final class JjwtTokenVerifier implements TokenVerifier {
+
+    private final JwtParser jwtParser;
+
+    JjwtTokenVerifier(Key key) {
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+    }
+
+    @Override
+    public VerifiedToken verify(String token) {
+        try {
+            Jws<Claims> jws = jwtParser.parseClaimsJws(token);
+            if (!isHs512(jws.getHeader())) {
+                return VerifiedToken.INVALID;
+            }
+            Claims claims = jws.getBody();
+            if (!hasValidTimes(claims)) {
+                return VerifiedToken.INVALID;
+            }
+            return VerifiedToken.valid(textOf(claims, Claims.SUBJECT), expirationOf(claims), textOf(claims, TokenProvider.AUTHORITIES_KEY),
+                    roleMaskOf(claims), textOf(claims, Claims.ID));
+        } catch (ExpiredJwtException e) { // 만료된 토큰이 더라도 일단 파싱을 함
+            if (!isHs512(e.getHeader())) {
+                return VerifiedToken.INVALID;
+            }
+            Claims claims = e.getClaims();
+            if (!hasValidTimes(claims)) { // 밀리초로 바꾸다 넘친 exp 가 음수가 되어 만료로 잡힌 경우
+                return VerifiedToken.INVALID;
+            }
+            return VerifiedToken.expired(textOf(claims, Claims.SUBJECT), expirationOf(claims), textOf(claims, TokenProvider.AUTHORITIES_KEY),
+                    roleMaskOf(claims), textOf(claims, Claims.ID));
+        } catch (Exception e) {
+            return VerifiedToken.INVALID;
+        }
+    }
+
+    // 키 길이만 맞으면 jjwt 는 HS256, HS384 토큰도 받아주는데 우리는 HS512 만 발급하므로 나머지는 거절
+    private static boolean isHs512(Header<?> header) {
+        return header instanceof JwsHeader
+                && SignatureAlgorithm.HS512.getValue().equals(((JwsHeader<?>) header).getAlgorithm());
+    }
+
+    private static long expirationOf(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration == null ? Long.MAX_VALUE : expiration.getTime();
+    }
+
+    // jjwt 는 객체, 배열 클레임도 toString 해서 돌려주므로 FastJwtVerifier 와 같이 null 로 맞춤
+    private static String textOf(Claims claims, String name) {
+        Object value = claims.get(name);
+        return value == null || value instanceof Map || value instanceof Collection ? null : value.toString();
+    }
+
+    // jjwt 는 exp, nbf 초 값에 1000 을 곱할 때 넘치는지 확인하지 않음 (FastJwtVerifier.MAX_SECONDS 와 같은 범위)
+    private static boolean hasValidTimes(Claims claims) {
+        return isValidTime(claims.get(Claims.EXPIRATION)) && isValidTime(claims.get(Claims.NOT_BEFORE));
+    }
+
+    private static boolean isValidTime(Object seconds) {
+        if (seconds == null) {
+            return true;
+        }
+        if (!(seconds instanceof Integer || seconds instanceof Long)) {
+            return false;
+        }
+        long value = ((Number) seconds).longValue();
+        return value <= FastJwtVerifier.MAX_SECONDS && value >= -FastJwtVerifier.MAX_SECONDS;
+    }
+
+    private static long roleMaskOf(Claims claims) {
+        Object roleMask = claims.get(TokenProvider.ROLE_MASK_KEY);
+        return roleMask instanceof Number ? ((Number) roleMask).longValue() : VerifiedToken.NO_ROLE_MASK;
+    }
+}
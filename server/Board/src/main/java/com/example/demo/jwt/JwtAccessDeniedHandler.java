@@ -0,0 +1,29 @@
+package com.example.demo.jwt;
+
+import com.example.demo.exceptionhandler.AuthorityExceptionType;
+import com.example.demo.exceptionhandler.ErrorResponseWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.web.access.AccessDeniedHandler;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * JwtAccessDeniedHandler 설명 : 인증은 되었지만 필요한 권한이 없는 경우 403
+ * 응답 바디는 ErrorResponseWriter 가 미리 만들어둔 바이트를 그대로 사용
+ **/
+@Component
+@RequiredArgsConstructor
+public class JwtAccessDeniedHandler implements AccessDeniedHandler {
+
+    private final ErrorResponseWriter errorResponseWriter;
+
+    @Override
+    public void handle(HttpServletRequest request, HttpServletResponse response,
+                       AccessDeniedException accessDeniedException) throws IOException {
+        errorResponseWriter.write(response, AuthorityExceptionType.ACCESS_DENIED);
+    }
+}
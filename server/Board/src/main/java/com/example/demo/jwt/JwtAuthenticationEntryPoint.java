@@ -0,0 +1,30 @@
+package com.example.demo.jwt;
+
+import com.example.demo.exceptionhandler.ErrorResponseWriter;
+import com.example.demo.exceptionhandler.MemberExceptionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * JwtAuthenticationEntryPoint 설명 : 인증 정보 없이 인증이 필요한 API 에 접근하면 401
+ * 응답 바디는 ErrorResponseWriter 가 미리 만들어둔 바이트를 그대로 사용
+ **/
+@Component
+@RequiredArgsConstructor
+public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
+
+    private final ErrorResponseWriter errorResponseWriter;
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response,
+                         AuthenticationException authException) throws IOException {
+        errorResponseWriter.write(response, HttpStatus.UNAUTHORIZED, MemberExceptionType.NOT_FOUND_AUTHENTICATION);
+    }
+}
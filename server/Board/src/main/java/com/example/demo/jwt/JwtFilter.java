@@ -1,5 +1,12 @@
 package com.example.demo.jwt;
 
+import com.example.demo.exceptionhandler.BaseExceptionType;
+import com.example.demo.exceptionhandler.BizException;
+import com.example.demo.exceptionhandler.ErrorResponseWriter;
+import com.example.demo.exceptionhandler.JwtExceptionType;
+import com.example.demo.jwt.AuthMetrics.FilterOutcome;
+import com.example.demo.util.ServerTiming;
+import com.example.demo.util.ServerTiming.Phase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -12,15 +19,13 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.PrintWriter;
 
 /**
  * JwtFilter 설명 : 디스패처 포워딩이 되어도 단 한번만 실행되는 필터
  * /auth 로 시작하는 모든 요청은 그냥 통과
  * 그외에는 토큰의 값을 검사
- * reponse에 직접 에러의 정보를 하드 코딩했는데
- * 이는 Filter에서는 @ExceptionHandler가 먹히지 않기 때문
- * 좀 더 좋은 방법이 있을 듯
+ * Filter에서는 @ExceptionHandler가 먹히지 않기 때문에 response에 직접 에러의 정보를 씀
+ * -> ErrorResponseWriter 가 ExceptionType 마다 미리 만들어둔 바디를 사용
  *
  * JwtFilter를 SpringSecurity 설정에 추가할거임
  * 커스터마이징한 CustomEmailPasswordAuthProvider는 AuthenticationManagerBuilder를 통해서 추가 가능
@@ -38,65 +43,104 @@ public class JwtFilter extends OncePerRequestFilter {
     public static final String AUTHORIZATION_HEADER = "Authorization";
     public static final String BEARER_PREFIX = "Bearer ";
 
+    // resolveToken 에서 형식이 잘못된 토큰을 나타내는 값 (== 로 비교, substring 하지 않음)
+    private static final String MALFORMED_TOKEN = new String("MALFORMED");
+
     private final TokenProvider tokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final TokenDenylist tokenDenylist;
+    private final AuthMetrics authMetrics;
 
     // 실제 필터링 로직은 doFilterInternal 에 들어감
     // JWT 토큰의 인증 정보를 현재 쓰레드의 SecurityContext 에 저장하는 역할 수행
+    // 거절 응답은 ErrorResponseWriter 가 미리 만들어둔 바이트를 그대로 씀 (PrintWriter, 인코딩 없음)
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws IOException, ServletException {
 
         if (request.getServletPath().startsWith("/auth")) {
             filterChain.doFilter(request, response);
-        } else {
-            String token = resolveToken(request);
-
-            log.debug("token  = {}", token);
-            if (StringUtils.hasText(token)) {
-                int flag = tokenProvider.validateToken(token);
-
-                log.debug("flag = {}", flag);
-                // 토큰 유효함
-                if (flag == 1) {
-                    this.setAuthentication(token);
-                } else if (flag == 2) { // 토큰 만료
-                    response.setContentType("application/json");
-                    response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                    response.setCharacterEncoding("UTF-8");
-                    PrintWriter out = response.getWriter();
-                    log.debug("doFilterInternal Exception CALL!");
-                    out.println("{\"error\": \"ACCESS_TOKEN_EXPIRED\", \"message\" : \"엑세스토큰이 만료되었습니다.\"}");
-                } else { //잘못된 토큰
-                    response.setContentType("application/json");
-                    response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                    response.setCharacterEncoding("UTF-8");
-                    PrintWriter out = response.getWriter();
-                    log.debug("doFilterInternal Exception CALL!");
-                    out.println("{\"error\": \"BAD_TOKEN\", \"message\" : \"잘못된 토큰 값입니다.\"}");
-                }
-            } else {
-                response.setContentType("application/json");
-                response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                response.setCharacterEncoding("UTF-8");
-                PrintWriter out = response.getWriter();
-                out.println("{\"error\": \"EMPTY_TOKEN\", \"message\" : \"토큰 값이 비어있습니다.\"}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        String token = resolveToken(request);
+        ServerTiming.add(Phase.RESOLVE, System.nanoTime() - start);
+
+        if (token == MALFORMED_TOKEN) { // 사전 검사에서 걸러진 토큰, 서명 검증 없이 바로 거절
+            reject(response, JwtExceptionType.BAD_TOKEN, FilterOutcome.MALFORMED, start);
+            return;
+        }
+        if (!StringUtils.hasText(token)) {
+            reject(response, JwtExceptionType.EMPTY_TOKEN, FilterOutcome.EMPTY, start);
+            return;
+        }
+
+        log.debug("token  = {}", token);
+        // 이미 검증해둔 토큰이면 HMAC 검증, JSON 파싱 없이 바로 통과
+        // 로그아웃과 캐시 저장이 겹치면 폐기된 토큰이 캐시에 남을 수 있으므로 폐기 목록은 캐시 히트여도 확인 (블룸 필터 한 번)
+        VerifiedTokenCache.Entry cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            if (tokenDenylist.isRevoked(cached.getTokenId())) {
+                verifiedTokenCache.remove(token);
+                reject(response, JwtExceptionType.REVOKED_TOKEN, FilterOutcome.REVOKED, start);
+                return;
+            }
+            SecurityContextHolder.getContext().setAuthentication(cached.getAuthentication());
+            authMetrics.recordFilter(FilterOutcome.CACHED, start);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 토큰 검증은 여기서 한 번만 하고 그 결과로 Authentication 을 만든다.
+        VerifiedToken verifiedToken = tokenProvider.verify(token);
+
+        log.debug("flag = {}", verifiedToken.getFlag());
+        if (verifiedToken.isValid() && tokenDenylist.isRevoked(verifiedToken.getTokenId())) { // 로그아웃된 토큰
+            reject(response, JwtExceptionType.REVOKED_TOKEN, FilterOutcome.REVOKED, start);
+        } else if (verifiedToken.isValid()) { // 토큰 유효함
+            try {
+                this.setAuthentication(token, verifiedToken);
+            } catch (BizException e) { // compact 토큰의 멤버가 없거나(NOT_FOUND_USER) sub 가 숫자가 아님(BAD_TOKEN), 권한 없음
+                reject(response, e.getBaseExceptionType(), FilterOutcome.INVALID, start);
+                return;
             }
+            authMetrics.recordFilter(FilterOutcome.VALID, start);
+            filterChain.doFilter(request, response);
+        } else if (verifiedToken.isExpired()) { // 토큰 만료
+            reject(response, JwtExceptionType.ACCESS_TOKEN_EXPIRED, FilterOutcome.EXPIRED, start);
+        } else { //잘못된 토큰
+            reject(response, JwtExceptionType.BAD_TOKEN, FilterOutcome.INVALID, start);
         }
     }
 
+    // 토큰 오류는 기존과 같이 403, 바디도 기존의 {"error","message"} 모양
+    private void reject(HttpServletResponse response, BaseExceptionType type, FilterOutcome outcome, long start) throws IOException {
+        log.debug("doFilterInternal reject = {}", type);
+        errorResponseWriter.writeFilterRejection(response, type);
+        authMetrics.recordFilter(outcome, start);
+    }
+
     /**
-     * @param token 토큰이 유효한 경우 SecurityContext에 저장
+     * @param verifiedToken 토큰이 유효한 경우 SecurityContext에 저장 (다시 파싱하지 않음)
+     * 다음 요청부터는 캐시에서 바로 꺼내 쓸 수 있도록 저장
      */
-    private void setAuthentication(String token) {
-        Authentication authentication = tokenProvider.getAuthentication(token);
+    private void setAuthentication(String token, VerifiedToken verifiedToken) {
+        Authentication authentication = tokenProvider.getAuthentication(verifiedToken);
+        verifiedTokenCache.put(token, verifiedToken, authentication);
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
     // Request Header 에서 토큰 정보를 꺼내오기
+    // 길이, '.' 개수, 문자, 헤더를 헤더 문자열 그대로 먼저 검사하고 통과한 경우에만 substring
     private String resolveToken(HttpServletRequest request) {
         // bearer : 123123123123123 -> return 123123123123123123
         String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
-            return bearerToken.substring(7);
+            if (!TokenPreCheck.isWellFormed(bearerToken, BEARER_PREFIX.length())) {
+                return MALFORMED_TOKEN;
+            }
+            return bearerToken.substring(BEARER_PREFIX.length());
         }
         return null;
     }
@@ -0,0 +1,134 @@
+package com.example.demo.jwt;
+
+import com.example.demo.util.VirtualThreads;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import javax.crypto.Mac;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * JwtSigner 설명 : HS512 토큰을 서명하는 객체
+ * Jwts.builder() 는 토큰을 만들 때마다 빌더, 클레임 맵, 직렬화기, Mac 을 새로 만들어서 버림
+ * 헤더는 항상 {"alg":"HS512"} 이므로 미리 인코딩 해두고
+ * 클레임은 JsonGenerator 로 바로 쓰고, Mac 은 쓰레드마다 하나씩 만들어서 재사용한다.
+ * JsonFactory 와 Base64 인코더는 쓰레드 세이프하므로 하나만 사용
+ *
+ * 모든 토큰에 jti(토큰 ID)를 넣어서 만료 전에도 TokenDenylist 로 폐기할 수 있도록 함
+ * 토큰 자체가 서명되어 있으므로 jti 는 추측 불가능할 필요가 없고 겹치지만 않으면 됨 -> ThreadLocalRandom 128bit
+ *
+ * 가상 쓰레드는 요청마다 새로 생기므로 ThreadLocal 의 Mac 이 재사용되지 않음 -> 초기화해둔 원본 Mac 을 복제해서 사용 (mac())
+ **/
+final class JwtSigner {
+
+    static final String ALGORITHM = "HmacSHA512";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    // jjwt 가 HS512 로 만드는 헤더와 동일 -> base64url("{"alg":"HS512"}") + "."
+    private static final byte[] HEADER = (ENCODER.encodeToString(
+            "{\"alg\":\"HS512\"}".getBytes(StandardCharsets.UTF_8)) + ".").getBytes(StandardCharsets.US_ASCII);
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Mac prototype;
+    private final ThreadLocal<Mac> macs;
+
+    JwtSigner(Key key) {
+        this.prototype = newMac(key);
+        this.macs = ThreadLocal.withInitial(() -> newMac(key));
+    }
+
+    /**
+     * @return sub, auth, jti, iat, exp 클레임을 담은 HS512 토큰 (iat, exp 는 jjwt 와 같이 초 단위)
+     */
+    String sign(String subject, String authorities, long issuedAt, long expiration) {
+        return sign(writeClaims(subject, authorities, VerifiedToken.NO_ROLE_MASK, issuedAt, expiration));
+    }
+
+    /**
+     * @return compact 형식 : sub 에 memberId, auth 대신 rm 에 권한 비트마스크를 담은 토큰
+     */
+    String signCompact(long memberId, long roleMask, long issuedAt, long expiration) {
+        return sign(writeClaims(Long.toString(memberId), null, roleMask, issuedAt, expiration));
+    }
+
+    private String sign(byte[] claims) {
+        byte[] payload = ENCODER.encode(claims);
+
+        // header.payload
+        byte[] signingInput = new byte[HEADER.length + payload.length];
+        System.arraycopy(HEADER, 0, signingInput, 0, HEADER.length);
+        System.arraycopy(payload, 0, signingInput, HEADER.length, payload.length);
+
+        // doFinal 이 Mac 을 초기 상태로 되돌리므로 같은 쓰레드에서 계속 재사용 가능
+        byte[] signature = ENCODER.encode(mac(prototype, macs).doFinal(signingInput));
+
+        // header.payload.signature
+        byte[] token = new byte[signingInput.length + 1 + signature.length];
+        System.arraycopy(signingInput, 0, token, 0, signingInput.length);
+        token[signingInput.length] = '.';
+        System.arraycopy(signature, 0, token, signingInput.length + 1, signature.length);
+        return new String(token, StandardCharsets.US_ASCII);
+    }
+
+    private byte[] writeClaims(String subject, String authorities, long roleMask, long issuedAt, long expiration) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("sub", subject);
+            if (authorities != null) {
+                generator.writeStringField(TokenProvider.AUTHORITIES_KEY, authorities);
+            }
+            if (roleMask != VerifiedToken.NO_ROLE_MASK) {
+                generator.writeNumberField(TokenProvider.ROLE_MASK_KEY, roleMask);
+            }
+            generator.writeStringField("jti", newTokenId());
+            generator.writeNumberField("iat", issuedAt / 1000);
+            generator.writeNumberField("exp", expiration / 1000);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // 메모리 스트림이라 발생하지 않음
+        }
+        return out.toByteArray();
+    }
+
+    // 16바이트 난수 -> base64url 22자
+    private static String newTokenId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        byte[] id = new byte[16];
+        random.nextBytes(id);
+        return ENCODER.encodeToString(id);
+    }
+
+    /**
+     * @return 플랫폼 쓰레드는 쓰레드마다 재사용하는 Mac, 가상 쓰레드는 prototype 을 복제한 Mac
+     *  (복제는 Provider 조회와 키 초기화를 건너뛰므로 Mac.getInstance + init 보다 쌈)
+     */
+    static Mac mac(Mac prototype, ThreadLocal<Mac> macs) {
+        if (!VirtualThreads.isVirtual()) {
+            return macs.get();
+        }
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HS512 Mac 을 복제할 수 없습니다.", e);
+        }
+    }
+
+    static Mac newMac(Key key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HS512 Mac 을 초기화할 수 없습니다.", e);
+        }
+    }
+}
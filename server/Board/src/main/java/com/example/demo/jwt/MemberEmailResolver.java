@@ -0,0 +1,13 @@
+package com.example.demo.jwt;
+
+/**
+ * MemberEmailResolver 설명 : compact 토큰의 sub(memberId) 로 멤버 이메일을 찾는다.
+ * SecurityContext 의 이름과 서비스 계층은 계속 이메일을 사용하므로 토큰 형식이 바뀌어도 그대로 동작하도록 함
+ **/
+public interface MemberEmailResolver {
+
+    /**
+     * @return memberId 에 해당하는 이메일, 없으면 null
+     */
+    String findEmail(long memberId);
+}
@@ -0,0 +1,73 @@
+package com.example.demo.jwt;
+
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * MemberPrincipal 설명 : SecurityContext 에 들어가는 UserDetails
+ * 스프링의 User 는 생성할 때마다 권한 목록을 정렬된 Set 으로 복사하는데
+ * 권한 조합은 몇 개 되지 않으므로 GrantedAuthorityRegistry 가 들고 있는 불변 컬렉션을 그대로 공유한다.
+ * (권한 목록을 수정하면 안됨)
+ **/
+@Getter
+public class MemberPrincipal implements UserDetails, CredentialsContainer {
+
+    private final String username;
+    private String password;
+    private final Collection<GrantedAuthority> authorities;
+
+    public MemberPrincipal(String username, String password, Collection<GrantedAuthority> authorities) {
+        this.username = username;
+        this.password = password;
+        this.authorities = authorities;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    // 인증이 끝나면 ProviderManager 가 비밀번호를 지움
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+
+    // 스프링의 User 와 같이 username 으로만 비교
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MemberPrincipal)) return false;
+        return Objects.equals(username, ((MemberPrincipal) o).username);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(username);
+    }
+
+    @Override
+    public String toString() {
+        return "MemberPrincipal(username=" + username + ", authorities=" + authorities + ")";
+    }
+}
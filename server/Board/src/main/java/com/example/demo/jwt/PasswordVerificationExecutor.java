@@ -0,0 +1,157 @@
+package com.example.demo.jwt;
+
+import com.example.demo.exceptionhandler.BizException;
+import com.example.demo.exceptionhandler.RequestExceptionType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PasswordVerificationExecutor 설명 : 로그인의 비밀번호 비교(BCrypt)를 정해진 개수의 전용 쓰레드에서만 실행
+ * 요청 쓰레드에서 바로 BCrypt 를 돌리면 로그인이 몰릴 때 Tomcat 쓰레드 전부가 해시 계산에 묶여서 /member 같은 가벼운 요청까지 밀린다.
+ *
+ * - 동시에 계산하는 수는 auth.password.threads (기본 코어 수), 기다리는 수는 auth.password.queue-size 까지
+ *   -> 로그인 때문에 기다리는 요청 쓰레드는 최대 threads + queue-size 개
+ * - 대기열이 가득 차면 바로 503 (LOGIN_BUSY)
+ * - 요청 쓰레드는 auth.password.deadline 까지만 기다리고 503, 그때까지 시작하지 못한 작업은 계산하지 않고 버림
+ *
+ * 메트릭 : auth.password.queue (대기 수), auth.password.wait (대기열에서 기다린 시간),
+ *         auth.password.rejected (reason=queue_full|deadline), 계산 시간은 AuthMetrics 의 auth.password.check
+ **/
+@Slf4j
+@Component
+public class PasswordVerificationExecutor implements MeterBinder {
+
+    private final PasswordEncoder passwordEncoder;
+    private final AuthMetrics authMetrics;
+    private final ThreadPoolExecutor executor;
+    private final long deadlineNanos;
+
+    private final LongAdder queueFull = new LongAdder();
+    private final LongAdder deadlineExceeded = new LongAdder();
+    private Timer waitTimer;
+
+    public PasswordVerificationExecutor(PasswordEncoder passwordEncoder,
+                                        AuthMetrics authMetrics,
+                                        @Value("${auth.password.threads:0}") int threads,
+                                        @Value("${auth.password.queue-size:64}") int queueSize,
+                                        @Value("${auth.password.deadline:2s}") Duration deadline) {
+        this.passwordEncoder = passwordEncoder;
+        this.authMetrics = authMetrics;
+        this.deadlineNanos = deadline.toNanos();
+
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors(); // 0 이면 코어 수
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verify-" + sequence.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.debug("PasswordVerificationExecutor threads = {}, queueSize = {}, deadline = {}", size, queueSize, deadline);
+    }
+
+    /**
+     * @return passwordEncoder.matches 의 결과
+     * @throws BizException LOGIN_BUSY : 대기열이 가득 찼거나 deadline 안에 끝나지 않은 경우
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        long submitted = System.nanoTime();
+        Future<Boolean> future;
+        try {
+            future = executor.submit(() -> verify(rawPassword, encodedPassword, submitted));
+        } catch (RejectedExecutionException e) {
+            queueFull.increment();
+            throw new BizException(RequestExceptionType.LOGIN_BUSY);
+        }
+
+        try {
+            Boolean matched = future.get(deadlineNanos - (System.nanoTime() - submitted), TimeUnit.NANOSECONDS);
+            if (matched == null) { // 시작 전에 deadline 이 지남
+                throw busy(future);
+            }
+            return matched;
+        } catch (TimeoutException e) {
+            throw busy(future);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy(future);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // 작업 쓰레드에서 실행, 요청 쓰레드가 이미 포기했으면 계산하지 않음
+    private Boolean verify(String rawPassword, String encodedPassword, long submitted) {
+        long waited = System.nanoTime() - submitted;
+        if (waitTimer != null) {
+            waitTimer.record(waited, TimeUnit.NANOSECONDS);
+        }
+        if (waited >= deadlineNanos) {
+            return null;
+        }
+        long start = System.nanoTime();
+        boolean matched = passwordEncoder.matches(rawPassword, encodedPassword);
+        authMetrics.recordPasswordCheck(matched, start); // BCrypt 시간
+        return matched;
+    }
+
+    private BizException busy(Future<Boolean> future) {
+        future.cancel(false); // 대기열에 있으면 빼고, 이미 계산 중이면 끝까지 둠 (BCrypt 는 인터럽트에 반응하지 않음)
+        deadlineExceeded.increment();
+        return new BizException(RequestExceptionType.LOGIN_BUSY);
+    }
+
+    public int queueSize() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.password.queue", this, PasswordVerificationExecutor::queueSize)
+                .description("비밀번호 비교 대기열에서 기다리는 로그인 수")
+                .register(registry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("비밀번호 비교 중인 쓰레드 수")
+                .register(registry);
+        this.waitTimer = Timer.builder("auth.password.wait")
+                .description("비밀번호 비교 대기열에서 기다린 시간")
+                .publishPercentileHistogram()
+                .register(registry);
+        FunctionCounter.builder("auth.password.rejected", queueFull, LongAdder::doubleValue)
+                .tag("reason", "queue_full")
+                .register(registry);
+        FunctionCounter.builder("auth.password.rejected", deadlineExceeded, LongAdder::doubleValue)
+                .tag("reason", "deadline")
+                .register(registry);
+    }
+}
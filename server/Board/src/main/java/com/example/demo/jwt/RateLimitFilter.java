@@ -0,0 +1,83 @@
+package com.example.demo.jwt;
+
+import com.example.demo.exceptionhandler.ErrorResponseWriter;
+import com.example.demo.exceptionhandler.RequestExceptionType;
+import com.example.demo.util.RateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * RateLimitFilter 설명 : 요청 수를 제한하는 필터, 넘으면 429 와 Retry-After(초) 를 응답
+ * /auth/** 는 토큰이 없으므로 클라이언트 IP 로 제한 -> JwtFilter 앞 (BCrypt 를 돌리는 로그인을 보호)
+ * 나머지는 인증된 이메일로 제한 -> JwtFilter 가 SecurityContext 를 채운 바로 뒤
+ * JwtFilter 와 같이 SecurityConfig 에서 직접 생성해서 등록
+ **/
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PATH = "/auth";
+
+    private final RateLimiter rateLimiter;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final boolean byClientIp;
+
+    private RateLimitFilter(RateLimiter rateLimiter, ErrorResponseWriter errorResponseWriter, boolean byClientIp) {
+        this.rateLimiter = rateLimiter;
+        this.errorResponseWriter = errorResponseWriter;
+        this.byClientIp = byClientIp;
+    }
+
+    /**
+     * @return /auth/** 요청을 클라이언트 IP 로 제한하는 필터
+     */
+    public static RateLimitFilter byClientIp(RateLimiter rateLimiter, ErrorResponseWriter errorResponseWriter) {
+        return new RateLimitFilter(rateLimiter, errorResponseWriter, true);
+    }
+
+    /**
+     * @return /auth/** 를 제외한 요청을 인증된 이메일로 제한하는 필터
+     */
+    public static RateLimitFilter byPrincipal(RateLimiter rateLimiter, ErrorResponseWriter errorResponseWriter) {
+        return new RateLimitFilter(rateLimiter, errorResponseWriter, false);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getServletPath().startsWith(AUTH_PATH) != byClientIp;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws IOException, ServletException {
+        String key = byClientIp ? request.getRemoteAddr() : principalName();
+
+        if (key == null) { // 인증 정보가 없으면 이후 필터(인가)에서 거절
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = rateLimiter.acquire(key);
+        if (waitNanos == RateLimiter.ALLOWED) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfter = RateLimiter.retryAfterSeconds(waitNanos);
+        log.debug("rate limited key = {}, retryAfter = {}", key, retryAfter);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        errorResponseWriter.write(response, RequestExceptionType.TOO_MANY_REQUESTS);
+    }
+
+    private static String principalName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.jwt;
+
+import com.example.demo.util.RateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * RateLimiters 설명 : application.yml 의 rate-limit 설정으로 경로 그룹마다 RateLimiter 를 만들어 둠
+ * auth : /auth/** (클라이언트 IP 기준), api : 나머지 (인증된 이메일 기준)
+ * rate-limit.enabled 가 false 면 SecurityConfig 에서 필터를 등록하지 않는다.
+ **/
+@Slf4j
+@Getter
+@Component
+public class RateLimiters implements MeterBinder {
+
+    private final boolean enabled;
+    private final RateLimiter auth;
+    private final RateLimiter api;
+
+    public RateLimiters(@Value("${rate-limit.enabled:true}") boolean enabled,
+                        @Value("${rate-limit.idle-timeout:600000}") long idleTimeout,
+                        @Value("${rate-limit.auth.capacity:20}") int authCapacity,
+                        @Value("${rate-limit.auth.refill-per-second:5}") double authRefill,
+                        @Value("${rate-limit.api.capacity:100}") int apiCapacity,
+                        @Value("${rate-limit.api.refill-per-second:50}") double apiRefill) {
+        this.enabled = enabled;
+        this.auth = new RateLimiter(authCapacity, authRefill, idleTimeout);
+        this.api = new RateLimiter(apiCapacity, apiRefill, idleTimeout);
+        log.debug("RateLimiters enabled = {}, auth = {}/{}s, api = {}/{}s", enabled, authCapacity, authRefill, apiCapacity, apiRefill);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("rate.limit.keys", auth, RateLimiter::size).tag("group", "auth").register(registry);
+        Gauge.builder("rate.limit.keys", api, RateLimiter::size).tag("group", "api").register(registry);
+    }
+}
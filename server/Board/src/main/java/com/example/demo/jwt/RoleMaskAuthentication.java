@@ -0,0 +1,81 @@
+package com.example.demo.jwt;
+
+import com.example.demo.model.MemberAuth;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/**
+ * RoleMaskAuthentication 설명 : 토큰으로 인증된 요청의 Authentication
+ * 권한을 MemberAuth 비트마스크(long)로 들고 있어서 hasRole 같은 권한 검사가 문자열 비교 루프가 아니라 비트 연산 한 번으로 끝난다.
+ * 마스크는 토큰의 rm 클레임(compact 형식) 또는 auth 클레임을 변환한 값을 그대로 사용
+ *
+ * getAuthorities 는 GrantedAuthorityRegistry 의 공유 불변 컬렉션을 그대로 돌려주므로
+ * AbstractAuthenticationToken 처럼 요청마다 권한 목록을 복사하지 않는다.
+ **/
+public class RoleMaskAuthentication implements Authentication {
+
+    private final UserDetails principal;
+    private final long roleMask;
+
+    public RoleMaskAuthentication(UserDetails principal, long roleMask) {
+        this.principal = principal;
+        this.roleMask = roleMask;
+    }
+
+    public long getRoleMask() {
+        return roleMask;
+    }
+
+    /**
+     * @return auth 권한을 가지고 있으면 true
+     */
+    public boolean hasRole(MemberAuth auth) {
+        return (roleMask & auth.getMask()) != 0;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return principal.getAuthorities();
+    }
+
+    @Override
+    public Object getCredentials() {
+        return "";
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    // 서명이 검증된 토큰으로만 만들어지므로 인증 상태를 바꿀 수 없음
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) throws IllegalArgumentException {
+        if (!isAuthenticated) {
+            throw new IllegalArgumentException("토큰으로 만든 인증 정보는 인증 상태를 바꿀 수 없습니다.");
+        }
+    }
+
+    @Override
+    public String getName() {
+        return principal.getUsername();
+    }
+
+    @Override
+    public String toString() {
+        return "RoleMaskAuthentication(principal=" + principal + ", roleMask=" + roleMask + ")";
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.jwt;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+/**
+ * RoleMaskMethodSecurityExpressionHandler 설명 : @PreAuthorize 의 expression root 를 RoleMaskSecurityExpressionRoot 로 교체
+ * 나머지(SpEL 파싱, 캐싱, 필터링)는 DefaultMethodSecurityExpressionHandler 를 그대로 사용
+ **/
+public class RoleMaskMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+    public RoleMaskMethodSecurityExpressionHandler() {
+        setPermissionEvaluator(new RoleMaskPermissionEvaluator());
+    }
+
+    @Override
+    protected MethodSecurityExpressionOperations createSecurityExpressionRoot(Authentication authentication,
+                                                                              MethodInvocation invocation) {
+        RoleMaskSecurityExpressionRoot root = new RoleMaskSecurityExpressionRoot(authentication);
+        root.setThis(invocation.getThis());
+        root.setPermissionEvaluator(getPermissionEvaluator());
+        root.setTrustResolver(getTrustResolver());
+        return root;
+    }
+}
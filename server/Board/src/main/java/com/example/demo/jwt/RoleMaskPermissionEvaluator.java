@@ -0,0 +1,35 @@
+package com.example.demo.jwt;
+
+import com.example.demo.model.MemberAuth;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+
+import java.io.Serializable;
+
+/**
+ * RoleMaskPermissionEvaluator 설명 : hasPermission(대상, 'ROLE_ADMIN') 을 권한 비트마스크로 검사
+ * permission 으로 MemberAuth 또는 권한 이름(ROLE_USER, ROLE_ADMIN ..)을 받고
+ * 대상(target)은 보지 않고 멤버가 해당 권한을 가지고 있는지만 확인한다.
+ **/
+public class RoleMaskPermissionEvaluator implements PermissionEvaluator {
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+        MemberAuth auth = permission instanceof MemberAuth
+                ? (MemberAuth) permission
+                : MemberAuth.get(String.valueOf(permission));
+        if (authentication == null || auth == null) {
+            return false;
+        }
+
+        long roleMask = authentication instanceof RoleMaskAuthentication
+                ? ((RoleMaskAuthentication) authentication).getRoleMask()
+                : GrantedAuthorityRegistry.roleMask(authentication.getAuthorities());
+        return (roleMask & auth.getMask()) != 0;
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+        return hasPermission(authentication, null, permission);
+    }
+}
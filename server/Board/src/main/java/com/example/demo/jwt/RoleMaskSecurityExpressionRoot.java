@@ -0,0 +1,173 @@
+package com.example.demo.jwt;
+
+import com.example.demo.model.MemberAuth;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serializable;
+
+/**
+ * RoleMaskSecurityExpressionRoot 설명 : @PreAuthorize 의 hasRole, hasAuthority 를 비트 연산으로 처리하는 expression root
+ * 스프링의 SecurityExpressionRoot 는 권한 목록을 Set<String> 으로 만든 뒤 문자열로 비교하고
+ * hasRole 등이 final 이라 상속으로 바꿀 수 없어서 MethodSecurityExpressionOperations 를 직접 구현
+ *
+ * MemberAuth 에 있는 권한은 RoleMaskAuthentication 의 마스크로 비트 검사,
+ * MemberAuth 에 없는 권한 이름만 기존처럼 권한 목록을 돌면서 비교한다.
+ **/
+public class RoleMaskSecurityExpressionRoot implements MethodSecurityExpressionOperations {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final Authentication authentication;
+    private final long roleMask;
+
+    private AuthenticationTrustResolver trustResolver;
+    private PermissionEvaluator permissionEvaluator;
+    private Object filterObject;
+    private Object returnObject;
+    private Object target;
+
+    public RoleMaskSecurityExpressionRoot(Authentication authentication) {
+        if (authentication == null) {
+            throw new IllegalArgumentException("Authentication object cannot be null");
+        }
+        this.authentication = authentication;
+        this.roleMask = authentication instanceof RoleMaskAuthentication
+                ? ((RoleMaskAuthentication) authentication).getRoleMask()
+                : GrantedAuthorityRegistry.roleMask(authentication.getAuthorities()); // 로그인 등 토큰이 아닌 인증
+    }
+
+    @Override
+    public Authentication getAuthentication() {
+        return authentication;
+    }
+
+    // SpEL 에서 principal 로 접근
+    public Object getPrincipal() {
+        return authentication.getPrincipal();
+    }
+
+    @Override
+    public boolean hasAuthority(String authority) {
+        return hasAnyAuthority(authority);
+    }
+
+    @Override
+    public boolean hasAnyAuthority(String... authorities) {
+        for (String authority : authorities) {
+            if (hasName(authority)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasRole(String role) {
+        return hasAnyRole(role);
+    }
+
+    // hasRole('ADMIN') 과 hasRole('ROLE_ADMIN') 모두 허용 (스프링과 동일)
+    @Override
+    public boolean hasAnyRole(String... roles) {
+        for (String role : roles) {
+            if (hasName(role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasName(String name) {
+        MemberAuth auth = MemberAuth.get(name);
+        if (auth != null) {
+            return (roleMask & auth.getMask()) != 0;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (name.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean permitAll() {
+        return true;
+    }
+
+    @Override
+    public boolean denyAll() {
+        return false;
+    }
+
+    @Override
+    public boolean isAnonymous() {
+        return trustResolver.isAnonymous(authentication);
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return !isAnonymous();
+    }
+
+    @Override
+    public boolean isRememberMe() {
+        return trustResolver.isRememberMe(authentication);
+    }
+
+    @Override
+    public boolean isFullyAuthenticated() {
+        return !trustResolver.isAnonymous(authentication) && !trustResolver.isRememberMe(authentication);
+    }
+
+    @Override
+    public boolean hasPermission(Object target, Object permission) {
+        return permissionEvaluator.hasPermission(authentication, target, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Object targetId, String targetType, Object permission) {
+        return permissionEvaluator.hasPermission(authentication, (Serializable) targetId, targetType, permission);
+    }
+
+    public void setTrustResolver(AuthenticationTrustResolver trustResolver) {
+        this.trustResolver = trustResolver;
+    }
+
+    public void setPermissionEvaluator(PermissionEvaluator permissionEvaluator) {
+        this.permissionEvaluator = permissionEvaluator;
+    }
+
+    @Override
+    public void setFilterObject(Object filterObject) {
+        this.filterObject = filterObject;
+    }
+
+    @Override
+    public Object getFilterObject() {
+        return filterObject;
+    }
+
+    @Override
+    public void setReturnObject(Object returnObject) {
+        this.returnObject = returnObject;
+    }
+
+    @Override
+    public Object getReturnObject() {
+        return returnObject;
+    }
+
+    void setThis(Object target) {
+        this.target = target;
+    }
+
+    @Override
+    public Object getThis() {
+        return target;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.jwt;
+
+import com.example.demo.util.ServerTiming;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * ServerTimingFilter 설명 : server-timing.enabled 일 때 응답에 Server-Timing 헤더를 붙이는 필터
+ * JwtFilter 바로 앞에서 요청의 ServerTiming 을 시작하고, 뒤의 필터/컨트롤러/리포지토리가 단계별 시간을 채운다.
+ * 직렬화 시간까지 헤더에 넣으려면 바디를 다 쓴 뒤에 헤더를 붙여야 하므로 응답을 버퍼링함 (디버깅, 부하 테스트 용도)
+ *
+ * 비동기 응답(StreamingResponseBody 등)은 ShallowEtagHeaderFilter 와 같이 async dispatch 가 끝날 때 헤더를 붙이고 바디를 보냄
+ **/
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    // async dispatch 에서 이어서 기록하기 위해 요청 속성에도 저장
+    private static final String TIMING_ATTRIBUTE = ServerTimingFilter.class.getName() + ".TIMING";
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws IOException, ServletException {
+        ContentCachingResponseWrapper existing = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        ContentCachingResponseWrapper wrapper = existing != null ? existing : new ContentCachingResponseWrapper(response);
+
+        ServerTiming timing = (ServerTiming) request.getAttribute(TIMING_ATTRIBUTE);
+        if (timing == null) {
+            timing = ServerTiming.start();
+            request.setAttribute(TIMING_ATTRIBUTE, timing);
+        } else {
+            ServerTiming.resume(timing);
+        }
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                if (!wrapper.isCommitted()) {
+                    wrapper.setHeader(SERVER_TIMING_HEADER, timing.toHeaderValue());
+                }
+                wrapper.copyBodyToResponse();
+            }
+            ServerTiming.clear();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.jwt;
+
+import com.example.demo.model.RevokedToken;
+import com.example.demo.repository.RevokedTokenRepository;
+import com.example.demo.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TokenDenylist 설명 : 만료 전에 폐기(로그아웃)된 엑세스 토큰의 jti 목록
+ * 모든 요청이 검사하므로 앞에 BloomFilter 를 두어서
+ * 폐기되지 않은 토큰(대부분의 요청)은 캐시 라인 하나만 보고 바로 통과하고
+ * 블룸 필터가 있을 수도 있다고 한 경우에만 맵을 조회한다.
+ *
+ * 엔트리는 토큰의 exp 까지만 유지 (그 이후에는 어차피 만료로 거절)
+ * 폐기할 때 revoked_token 테이블에도 저장해서 서버가 재시작되면 다시 만든다.
+ * 맵과 블룸 필터에는 저장이 커밋된 뒤에 넣음 (롤백된 로그아웃의 토큰을 거절하지 않도록)
+ * 다른 서버는 테이블을 다시 읽지 않으므로 재시작하기 전까지는 그 서버에서 폐기한 토큰만 거절한다.
+ * 블룸 필터는 삭제가 안되므로 SWEEP_INTERVAL 마다 만료된 엔트리를 지우면서 새로 만들어서 교체
+ **/
+@Slf4j
+@Component
+public class TokenDenylist {
+
+    private static final long SWEEP_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedSize;
+
+    // jti -> exp
+    private final Map<String, Long> entries = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+
+    private final AtomicLong lastSweep = new AtomicLong(System.currentTimeMillis());
+
+    public TokenDenylist(RevokedTokenRepository revokedTokenRepository,
+                         @Value("${jwt.denylist.expected-size:100000}") int expectedSize) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedSize = expectedSize;
+        this.bloomFilter = new BloomFilter(expectedSize);
+    }
+
+    // 요청을 받기 전에 테이블에서 아직 만료되지 않은 폐기 토큰을 다시 불러옴
+    @PostConstruct
+    public void load() {
+        long now = System.currentTimeMillis();
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        for (RevokedToken revokedToken : revokedTokenRepository.findAllByExpirationGreaterThan(now)) {
+            entries.put(revokedToken.getTokenId(), revokedToken.getExpiration());
+        }
+        rebuild();
+        log.debug("TokenDenylist loaded = {}, deleted = {}", entries.size(), deleted);
+    }
+
+    /**
+     * @param tokenId    폐기할 토큰의 jti (jti 가 없는 이전 토큰은 폐기할 수 없음)
+     * @param expiration 토큰의 exp, 이 시간이 지나면 엔트리도 삭제
+     * @param onRevoked  폐기가 메모리에 반영된 뒤 실행 ex) 검증 캐시에서 제거
+     *                   (먼저 지우면 커밋 전에 다른 요청이 같은 토큰을 다시 캐시에 넣을 수 있음)
+     */
+    public void revoke(String tokenId, long expiration, Runnable onRevoked) {
+        long now = System.currentTimeMillis();
+        if (tokenId == null || expiration <= now) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenId(tokenId)
+                .expiration(expiration)
+                .build());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(tokenId, expiration, onRevoked);
+        } else {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(tokenId, expiration, onRevoked);
+                }
+            });
+        }
+        sweepIfNeeded(now);
+    }
+
+    // 맵에 먼저 넣고 블룸 필터에 넣음 (rebuild 가 맵을 다시 훑으므로 교체 중에도 빠지지 않음)
+    private void add(String tokenId, long expiration, Runnable onRevoked) {
+        entries.put(tokenId, expiration);
+        bloomFilter.put(tokenId);
+        onRevoked.run();
+    }
+
+    /**
+     * @return 폐기된 토큰이면 true, 대부분은 블룸 필터에서 바로 false
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiration = entries.get(tokenId);
+        return expiration != null && expiration > System.currentTimeMillis();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // SWEEP_INTERVAL 마다 한 쓰레드만 만료된 엔트리를 지우고 블룸 필터를 다시 만든다.
+    private void sweepIfNeeded(long now) {
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        Iterator<Long> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next() <= now) {
+                it.remove();
+            }
+        }
+        rebuild();
+        revokedTokenRepository.deleteExpired(now);
+    }
+
+    // 새 필터를 채워서 교체한 뒤 한 번 더 채움 (채우는 도중에 이전 필터에만 들어간 jti 를 놓치지 않도록)
+    private void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedSize, entries.size() * 2));
+        entries.keySet().forEach(rebuilt::put);
+        this.bloomFilter = rebuilt;
+        entries.keySet().forEach(rebuilt::put);
+    }
+}
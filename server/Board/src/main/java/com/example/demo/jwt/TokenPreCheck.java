@@ -0,0 +1,180 @@
+package com.example.demo.jwt;
+
+import com.example.demo.util.VirtualThreads;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * TokenPreCheck 설명 : 서명 검증 전에 하는 저렴한 구조 검사
+ * 봇이 보내는 잘못된 Authorization 헤더는 대부분 형식부터 틀린 값들인데
+ * 이런 값도 jjwt 까지 가면 HMAC 계산에 스택트레이스가 담긴 예외까지 만들어짐
+ * 여기서는 객체 생성이나 예외 없이 길이, '.' 개수, base64url 문자, 서명 길이, 헤더(alg/typ) 를 확인하고
+ * payload 의 exp 만 훑어서 이미 만료된 토큰은 서명 검증 없이 거른다.
+ **/
+final class TokenPreCheck {
+    private TokenPreCheck() { } // 인스턴스 생성 X
+
+    // 우리가 발급하는 토큰은 300자 정도
+    static final int MAX_TOKEN_LENGTH = 2048;
+
+    // HS512 서명은 64 byte -> base64url(패딩 없음) 86자
+    static final int SIGNATURE_LENGTH = 86;
+
+    // 허용하는 헤더, 우리가 발급하는 헤더와 jjwt 빌더에 typ 을 넣은 경우만
+    private static final String[] HS512_HEADERS = {
+            encode("{\"alg\":\"HS512\"}"),
+            encode("{\"typ\":\"JWT\",\"alg\":\"HS512\"}"),
+            encode("{\"alg\":\"HS512\",\"typ\":\"JWT\"}"),
+    };
+
+    // base64url 문자 -> 6bit 값, 그 외 문자는 -1
+    private static final byte[] DECODE = new byte[128];
+
+    private static final byte[] EXP = {'e', 'x', 'p'};
+
+    // payload 를 디코딩할 버퍼는 쓰레드마다 하나씩 재사용 (가상 쓰레드는 요청마다 새 쓰레드이므로 그냥 할당)
+    private static final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[MAX_TOKEN_LENGTH]);
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            DECODE[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    /**
+     * @param value  토큰이 들어있는 문자열 ex) Authorization 헤더 값
+     * @param offset 토큰이 시작하는 위치 ex) "Bearer " 다음
+     * @return header.payload.signature 형식이고 HS512 헤더인 경우 true
+     */
+    static boolean isWellFormed(String value, int offset) {
+        int end = value.length();
+        if (end - offset <= 0 || end - offset > MAX_TOKEN_LENGTH) {
+            return false;
+        }
+
+        int first = -1;
+        int second = -1;
+        for (int i = offset; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (first < 0) {
+                    first = i;
+                } else if (second < 0) {
+                    second = i;
+                } else {
+                    return false; // 세그먼트가 3개 초과
+                }
+            } else if (c >= 128 || DECODE[c] < 0) {
+                return false;
+            }
+        }
+
+        return second > first + 1
+                && end - second - 1 == SIGNATURE_LENGTH
+                && isHs512Header(value, offset, first - offset);
+    }
+
+    /**
+     * isWellFormed 를 통과한 토큰에 대해서만 호출
+     * @return payload 최상위의 exp 가 now 보다 이전이면 true, exp 를 못 찾거나 읽을 수 없으면 false (서명 검증 단계에서 판단)
+     */
+    static boolean isExpired(String token, long now) {
+        int first = token.indexOf('.');
+        int second = token.indexOf('.', first + 1);
+        byte[] payload = VirtualThreads.isVirtual() ? new byte[MAX_TOKEN_LENGTH] : buffers.get();
+        int length = decode(token, first + 1, second, payload);
+        if (length < 0) {
+            return false;
+        }
+        long exp = findTopLevelExp(payload, length);
+        return exp >= 0 && exp <= FastJwtVerifier.MAX_SECONDS && now > exp * 1000; // 밀리초로 바꿀 때 넘치는 값은 서명 검증 단계에서 거름
+    }
+
+    private static boolean isHs512Header(String value, int offset, int length) {
+        for (String header : HS512_HEADERS) {
+            if (header.length() == length && value.regionMatches(offset, header, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // base64url(패딩 없음) -> dst, 잘못된 길이면 -1
+    private static int decode(String src, int from, int to, byte[] dst) {
+        if ((to - from) % 4 == 1) {
+            return -1;
+        }
+        int length = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = from; i < to; i++) {
+            bits = (bits << 6) | DECODE[src.charAt(i)];
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                dst[length++] = (byte) (bits >> bitCount);
+            }
+        }
+        return length;
+    }
+
+    // JSON 최상위 객체의 "exp" 숫자 값, 없으면 -1 (문자열 안의 내용과 중첩된 객체의 exp 는 무시)
+    private static long findTopLevelExp(byte[] json, int length) {
+        int depth = 0;
+        int keyStart = -1;
+        int keyEnd = -1;
+        for (int i = 0; i < length; i++) {
+            byte b = json[i];
+            if (b == '"') {
+                int start = i + 1;
+                for (i = start; i < length && json[i] != '"'; i++) {
+                    if (json[i] == '\\') i++;
+                }
+                if (depth == 1) {
+                    keyStart = start;
+                    keyEnd = i;
+                }
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                depth--;
+            } else if (b == ':' && depth == 1 && isExpKey(json, keyStart, keyEnd)) {
+                return readLong(json, i + 1, length);
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isExpKey(byte[] json, int start, int end) {
+        if (start < 0 || end - start != EXP.length) {
+            return false;
+        }
+        for (int i = 0; i < EXP.length; i++) {
+            if (json[start + i] != EXP[i]) return false;
+        }
+        return true;
+    }
+
+    private static long readLong(byte[] json, int from, int length) {
+        int i = from;
+        while (i < length && (json[i] == ' ' || json[i] == '\t' || json[i] == '\n' || json[i] == '\r')) i++;
+        long value = 0;
+        int digits = 0;
+        for (; i < length && json[i] >= '0' && json[i] <= '9'; i++) {
+            if (++digits > 18) return -1;
+            value = value * 10 + (json[i] - '0');
+        }
+        if (digits == 0 || (i < length && (json[i] == '.' || json[i] == 'e' || json[i] == 'E'))) {
+            return -1;
+        }
+        return value;
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
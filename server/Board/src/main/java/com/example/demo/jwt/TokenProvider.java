@@ -3,38 +3,61 @@ package com.example.demo.jwt;
 
 import com.example.demo.exceptionhandler.AuthorityExceptionType;
 import com.example.demo.exceptionhandler.BizException;
+import com.example.demo.exceptionhandler.InternalServerExceptionType;
+import com.example.demo.exceptionhandler.JwtExceptionType;
+import com.example.demo.exceptionhandler.MemberExceptionType;
 import com.example.demo.model.Authority;
+import com.example.demo.model.Member;
+import com.example.demo.model.MemberAuth;
 import com.example.demo.model.dto.TokenDTO;
+import com.example.demo.util.ServerTiming;
+import com.example.demo.util.ServerTiming.Phase;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import ognl.Token;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import javax.annotation.PreDestroy;
 import java.security.Key;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Getter
 @Component
-public class TokenProvider {
+public class TokenProvider implements MeterBinder {
 
     // JWT claim 정보에 들어갈 멤버의 권한을 나타내는 key 값. ex) auth : ROLE_USER
-    private static final String AUTHORITIES_KEY = "auth";
+    static final String AUTHORITIES_KEY = "auth";
+
+    // compact 형식에서 auth 대신 사용하는 권한 비트마스크 key 값. ex) rm : 3 (ROLE_USER + ROLE_ADMIN)
+    static final String ROLE_MASK_KEY = "rm";
 
     // HTTP Header 중 Authorization 필드에 들어가는 prefix로서 JWT를 쓴다면 "Bearer "(띄어쓰기 주의)를 사용하도록 하는 일종의 약속 같은 개념입니다.
     private static final String BEARER_TYPE = "Bearer";
@@ -45,39 +68,105 @@ public class TokenProvider {
 
     private final Key key;
 
+    // 검증기와 서명기는 불변이고 쓰레드 세이프하므로 생성 시점에 한 번만 만들어서 모든 요청이 공유
+    // jwt.verifier : jjwt(기본) 또는 fast(FastJwtVerifier)
+    @Getter(AccessLevel.NONE)
+    private final TokenVerifier tokenVerifier;
+    @Getter(AccessLevel.NONE)
+    private final JwtSigner jwtSigner;
+
+    // createTokens 에서 여러 멤버의 토큰을 나눠서 서명하는 풀 (코어 수만큼, 큐가 차면 호출한 쓰레드가 직접 서명)
+    @Getter(AccessLevel.NONE)
+    private final ThreadPoolExecutor mintingPool;
+
+    // 서명/검증 시간 (auth.token.sign, auth.token.verify), bindTo 로 레지스트리에 등록되기 전(테스트, 벤치마크)에는 기록하지 않음
+    private static final MeterRegistry UNBOUND = new CompositeMeterRegistry();
+    @Getter(AccessLevel.NONE)
+    private volatile Timer signTimer = Timer.builder("auth.token.sign").register(UNBOUND);
+    @Getter(AccessLevel.NONE)
+    private volatile Timer compactSignTimer = signTimer;
+    @Getter(AccessLevel.NONE)
+    private volatile Map<VerifiedToken.Status, Timer> verifyTimers = verifyTimers(UNBOUND);
+
+    // jwt.compact-claims : true 면 sub 에 memberId, rm 에 권한 비트마스크를 담아서 발급
+    // 읽을 때는 설정과 상관없이 두 형식을 모두 해석한다. (롤아웃 중 기존 토큰도 계속 사용 가능)
+    private final boolean compactClaims;
+    @Getter(AccessLevel.NONE)
+    private final MemberEmailResolver memberEmailResolver;
+
     public TokenProvider(@Value("${jwt.secret}") String secretKey ,
                          @Value("${jwt.access-token-expire-time}") long accessTime,
-                         @Value("${jwt.refresh-token-expire-time}") long refreshTime
+                         @Value("${jwt.refresh-token-expire-time}") long refreshTime,
+                         @Value("${jwt.verifier:jjwt}") String verifier,
+                         @Value("${jwt.compact-claims:false}") boolean compactClaims,
+                         MemberEmailResolver memberEmailResolver
     ) {
         this.ACCESS_TOKEN_EXPIRE_TIME = accessTime;
         this.REFRESH_TOKEN_EXPIRE_TIME = refreshTime;
+        this.compactClaims = compactClaims;
+        this.memberEmailResolver = memberEmailResolver;
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.tokenVerifier = "fast".equalsIgnoreCase(verifier) ? new FastJwtVerifier(key) : new JjwtTokenVerifier(key);
+        this.jwtSigner = new JwtSigner(key);
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.mintingPool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "token-minting-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.mintingPool.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        mintingPool.shutdown();
     }
 
     // 사용자의 이메일과 권한들을 받아서 토큰을 생성
     // 클레임의 value 값으로 Set이 아니라 String으로 넣어뒀는데
     // 구현의 편의상 String이 편해서 String으로 권한들을 joining
     protected String createToken(String email, Set<Authority> auth, long tokenValid) {
-        // ex) sub : abc@abc.com
-        Claims claims = Jwts.claims().setSubject(email);
-
+        long start = System.nanoTime();
         // ex)  auth : ROLE_USER,ROLE_ADMIN
-        claims.put(AUTHORITIES_KEY,
-                auth.stream()
-                        .map(Authority::getAuthorityName)
-                        .collect(Collectors.joining(","))
-        );
+        String authorities = auth.stream()
+                .map(Authority::getAuthorityName)
+                .collect(Collectors.joining(","));
 
         // 현재시간
-        Date now = new Date();
+        long now = System.currentTimeMillis();
 
-        return Jwts.builder()
-                .setClaims(claims) // 토큰 발행 유저 정보
-                .setIssuedAt(now) // 토큰 발행 시간
-                .setExpiration(new Date(now.getTime() + tokenValid)) // 토큰 만료시간
-                .signWith(key,SignatureAlgorithm.HS512) // 키와 알고리즘 설정
-                .compact();
+        // ex) sub : abc@abc.com, 토큰 발행 시간, 토큰 만료시간을 HS512 로 서명
+        String token = jwtSigner.sign(email, authorities, now, now + tokenValid);
+        signTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
+    }
+
+    // jwt.compact-claims 설정에 따라 기존 형식 또는 compact 형식으로 생성
+    // compact 형식 ex) sub : 12, rm : 3
+    protected String createToken(Member member, long tokenValid) {
+        if (!compactClaims || member.getMemberId() == null) {
+            return createToken(member.getEmail(), member.getAuthorities(), tokenValid);
+        }
+
+        long start = System.nanoTime();
+        long roleMask = 0L;
+        for (Authority authority : member.getAuthorities()) {
+            MemberAuth auth = MemberAuth.get(authority.getAuthorityName());
+            if (auth != null) {
+                roleMask |= auth.getMask();
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        String token = jwtSigner.signCompact(member.getMemberId(), roleMask, now, now + tokenValid);
+        compactSignTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
     }
 
     // 엑세스 토큰과 리프레시 토큰을 위 createToken 함수를 재 사용하여 생성
@@ -100,14 +189,86 @@ public class TokenProvider {
         return this.createToken(email,auth,REFRESH_TOKEN_EXPIRE_TIME);
     }
 
+    /**
+     * @param member 권한까지 로딩된 멤버
+     * @return 엑세스 토큰 생성 (jwt.compact-claims 설정을 따름)
+     */
+    public String createAccessToken(Member member) {
+        return this.createToken(member, ACCESS_TOKEN_EXPIRE_TIME);
+    }
+
+    /**
+     * @param member 권한까지 로딩된 멤버
+     * @return 리프레시 토큰 생성 (jwt.compact-claims 설정을 따름)
+     */
+    public String createRefreshToken(Member member) {
+        return this.createToken(member, REFRESH_TOKEN_EXPIRE_TIME);
+    }
+
+    /**
+     * 테넌트 이전 등으로 많은 멤버의 토큰을 한 번에 발급할 때 사용
+     * 멤버 목록을 코어 수만큼 나눠서 mintingPool 에서 병렬로 서명한다.
+     * @param members 권한까지 로딩된 멤버 목록
+     * @return members 와 같은 순서의 TokenDTO 목록
+     */
+    public List<TokenDTO> createTokens(List<Member> members) {
+        TokenDTO[] tokens = new TokenDTO[members.size()];
+        int sliceSize = Math.max(1, (members.size() + mintingPool.getMaximumPoolSize() - 1) / mintingPool.getMaximumPoolSize());
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < members.size(); from += sliceSize) {
+            int start = from;
+            int end = Math.min(members.size(), from + sliceSize);
+            futures.add(mintingPool.submit(() -> {
+                for (int i = start; i < end; i++) {
+                    Member member = members.get(i);
+                    tokens[i] = createTokenDTO(createAccessToken(member), createRefreshToken(member));
+                }
+            }));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BizException(InternalServerExceptionType.INTERNAL_SERVER_ERROR);
+        } catch (ExecutionException e) {
+            log.error("토큰 일괄 발급 중 오류가 발생하였습니다.", e.getCause());
+            throw new BizException(InternalServerExceptionType.INTERNAL_SERVER_ERROR);
+        }
+        return Arrays.asList(tokens);
+    }
+
     /**
      *
      * @param token
      * @return 토큰 값을 파싱하여 클레임에 담긴 이메일 값을 가져온다.
      */
     public String getMemberEmailByToken(String token) {
-        // 토큰의 claim 의 sub 키에 이메일 값이 들어있다.
-        return this.parseClaims(token).getSubject();
+        // 토큰의 claim 의 sub 키에 이메일 값이 들어있다. (compact 형식은 memberId)
+        return getMemberEmail(this.verifySignature(token));
+    }
+
+    /**
+     * @return 기존 형식이면 sub 그대로, compact 형식이면 sub 의 memberId 로 이메일을 조회
+     */
+    public String getMemberEmail(VerifiedToken verifiedToken) {
+        if (!verifiedToken.isCompact()) {
+            return verifiedToken.getSubject();
+        }
+
+        String email;
+        try {
+            email = memberEmailResolver.findEmail(Long.parseLong(verifiedToken.getSubject()));
+        } catch (NumberFormatException e) {
+            throw new BizException(JwtExceptionType.BAD_TOKEN);
+        }
+        if (email == null) {
+            throw new BizException(MemberExceptionType.NOT_FOUND_USER);
+        }
+        return email;
     }
 
     /**
@@ -126,32 +287,70 @@ public class TokenProvider {
 /** 토큰에서 Authentication 인스턴스를 가져오는 메서드
 // CustomEmailPasswordAuthToken은 UsernamePasswordAuthenticationToken을 커스터마이징한 클래스.*/
     public Authentication getAuthentication(String accessToken) throws BizException{
+        return getAuthentication(parseClaims(accessToken));
+    }
 
-        // 토큰 복호화
-        Claims claims = parseClaims(accessToken);
+    /**
+     * 토큰 복호화 (만료된 토큰이더라도 서명이 맞다면 클레임을 사용)
+     * @return 유효하거나 만료된 토큰의 검증 결과, 잘못된 토큰이면 BAD_TOKEN
+     */
+    public VerifiedToken parseClaims(String token) throws BizException {
+        long start = System.nanoTime();
+        VerifiedToken verifiedToken = verifySignature(token);
+        ServerTiming.add(Phase.VERIFY, System.nanoTime() - start);
 
-        if (claims.get(AUTHORITIES_KEY) == null || !StringUtils.hasText(claims.get(AUTHORITIES_KEY).toString())) {
-            throw new BizException(AuthorityExceptionType.NOT_FOUND_AUTHORITY); // 유저에게 아무런 권한이 없습니다.
+        if (verifiedToken.getStatus() == VerifiedToken.Status.INVALID) {
+            throw new BizException(JwtExceptionType.BAD_TOKEN);
         }
+        return verifiedToken;
+    }
 
-        log.debug("claims.getAuth = {}",claims.get(AUTHORITIES_KEY));
-        log.debug("claims.getEmail = {}",claims.getSubject());
+    /**
+     * @param verifiedToken verify 로 이미 검증된 토큰
+     * @return 다시 파싱하지 않고 검증 결과만으로 Authentication 을 만든다.
+     */
+    public Authentication getAuthentication(VerifiedToken verifiedToken) throws BizException {
+        return getAuthentication(verifiedToken, null);
+    }
 
-        // 클레임에서 권한 정보 가져오기
-        Collection<? extends GrantedAuthority> authorities =
-                Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
+    /**
+     * @param memberEmail 이미 찾아둔 멤버 이메일, null 이면 getMemberEmail 로 찾는다.
+     *  (리액티브 버전은 compact 토큰의 이메일을 R2DBC 로 먼저 조회해서 넘김)
+     */
+    public Authentication getAuthentication(VerifiedToken verifiedToken, String memberEmail) throws BizException {
+        long start = System.nanoTime();
+        // 클레임에서 권한 정보 가져오기 (같은 클레임이면 같은 불변 컬렉션을 공유)
+        Collection<GrantedAuthority> authorities;
+        if (verifiedToken.isCompact()) {
+            authorities = GrantedAuthorityRegistry.authorities(verifiedToken.getRoleMask());
+            log.debug("claims.getRoleMask = {}", verifiedToken.getRoleMask());
+        } else {
+            String auth = verifiedToken.getAuthorities();
+            if (!StringUtils.hasText(auth)) {
+                throw new BizException(AuthorityExceptionType.NOT_FOUND_AUTHORITY); // 유저에게 아무런 권한이 없습니다.
+            }
+            authorities = GrantedAuthorityRegistry.authorities(auth);
+            log.debug("claims.getAuth = {}", auth);
+        }
+
+        if (authorities.isEmpty()) {
+            throw new BizException(AuthorityExceptionType.NOT_FOUND_AUTHORITY); // 유저에게 아무런 권한이 없습니다.
+        }
 
-        authorities.stream().forEach(o->{
-            log.debug("getAuthentication -> authorities = {}",o.getAuthority());
-        });
+        log.debug("claims.getSubject = {}", verifiedToken.getSubject());
     /**
     *  UserDetails 객체를 만들어서 Authentication 리턴
+    *  권한은 비트마스크로도 들고 있어서 @PreAuthorize 의 hasRole 은 비트 검사로 끝난다. (RoleMaskSecurityExpressionRoot)
     */
-        UserDetails principal = new User(claims.getSubject(), "", authorities);
+        String email = memberEmail != null ? memberEmail : getMemberEmail(verifiedToken);
+        UserDetails principal = new MemberPrincipal(email, "", authorities);
+        long roleMask = verifiedToken.isCompact()
+                ? verifiedToken.getRoleMask()
+                : GrantedAuthorityRegistry.roleMask(verifiedToken.getAuthorities());
 
-        return new CustomEmailPasswordAuthToken(principal, "", authorities);
+        Authentication authentication = new RoleMaskAuthentication(principal, roleMask);
+        ServerTiming.add(Phase.AUTH, System.nanoTime() - start); // compact 형식이면 이메일 조회 포함
+        return authentication;
     }
 
 
@@ -159,26 +358,72 @@ public class TokenProvider {
      * Exception을 throw하지 않고 int 를 리턴한 이유는
      * try catch로 지저분해지는 필터의 코드를 좀 더 가독성있게 수정하기 위함인데
      * 더 좋은 방법이 있을 듯
+     * -> verify 의 결과에서 flag 만 꺼내서 리턴
     */
     public int validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return 1;
-        } catch (ExpiredJwtException e) {
-            log.info("만료된 JWT 토큰입니다.");
-            return 2;
-        } catch (Exception e) {
-            log.info("잘못된 토큰입니다.");
-            return -1;
+        return verify(token).getFlag();
+    }
+
+    /**
+     * 토큰을 한 번만 검증하고 그 결과(상태, 이메일, 만료시간, 권한)를 VerifiedToken 으로 리턴
+     * 형식이 잘못된 토큰은 서명 검증 없이 INVALID, 이미 만료된 토큰은 서명 검증 없이 EXPIRED (클레임 없음)
+     * 만료된 토큰의 클레임이 필요한 경우(reissue)는 getAuthentication(String) 을 사용
+     */
+    public VerifiedToken verify(String token) {
+        long start = System.nanoTime();
+        VerifiedToken verifiedToken;
+        if (token == null || !TokenPreCheck.isWellFormed(token, 0)) {
+            log.debug("사전 검사에서 걸러진 토큰입니다.");
+            verifiedToken = VerifiedToken.INVALID;
+        } else if (TokenPreCheck.isExpired(token, System.currentTimeMillis())) {
+            log.debug("만료된 JWT 토큰입니다.");
+            verifiedToken = VerifiedToken.EXPIRED;
+        } else {
+            verifiedToken = verifySignature(token);
         }
+        long elapsed = System.nanoTime() - start;
+        verifyTimers.get(verifiedToken.getStatus()).record(elapsed, TimeUnit.NANOSECONDS);
+        ServerTiming.add(Phase.VERIFY, elapsed);
+        return verifiedToken;
     }
 
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.signTimer = signTimer(registry, "standard");
+        this.compactSignTimer = signTimer(registry, "compact");
+        this.verifyTimers = verifyTimers(registry);
+    }
 
-    private Claims parseClaims(String accessToken) {
-        try {
-            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(accessToken).getBody();
-        } catch (ExpiredJwtException e) { // 만료된 토큰이 더라도 일단 파싱을 함
-            return e.getClaims();
+    private static Timer signTimer(MeterRegistry registry, String format) {
+        return Timer.builder("auth.token.sign")
+                .description("토큰 서명 시간")
+                .tag("format", format)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Map<VerifiedToken.Status, Timer> verifyTimers(MeterRegistry registry) {
+        Map<VerifiedToken.Status, Timer> timers = new EnumMap<>(VerifiedToken.Status.class);
+        for (VerifiedToken.Status status : VerifiedToken.Status.values()) {
+            timers.put(status, Timer.builder("auth.token.verify")
+                    .description("토큰 검증 시간 (사전 검사 포함)")
+                    .tag("result", status.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        return timers;
+    }
+
+    /**
+     * 만료 여부와 상관없이 서명까지 검증 (만료된 토큰이더라도 서명이 맞으면 클레임을 담아준다.)
+     */
+    private VerifiedToken verifySignature(String token) {
+        VerifiedToken verifiedToken = tokenVerifier.verify(token);
+        if (verifiedToken.isExpired()) {
+            log.info("만료된 JWT 토큰입니다.");
+        } else if (!verifiedToken.isValid()) {
+            log.info("잘못된 토큰입니다.");
         }
+        return verifiedToken;
     }
 }
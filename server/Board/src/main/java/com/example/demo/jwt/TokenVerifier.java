@@ -0,0 +1,14 @@
+package com.example.demo.jwt;
+
+/**
+ * TokenVerifier 설명 : 토큰 검증 엔진
+ * jwt.verifier 설정값으로 jjwt(JjwtTokenVerifier) 와 직접 구현한 검증기(FastJwtVerifier) 중 하나를 선택
+ * 두 엔진은 같은 토큰에 대해 같은 결과를 내야 함 (TokenVerifierConformanceTest)
+ **/
+interface TokenVerifier {
+
+    /**
+     * 예외를 던지지 않고 결과를 VerifiedToken 의 상태로 돌려준다.
+     */
+    VerifiedToken verify(String token);
+}
@@ -0,0 +1,86 @@
+package com.example.demo.jwt;
+
+import lombok.Getter;
+
+/**
+ * VerifiedToken 설명 : 토큰을 한 번만 검증(파싱)하고 그 결과를 담아두는 객체
+ * 예전에는 필터에서 validateToken 으로 한 번, getAuthentication 에서 또 한 번 파싱하여
+ * HMAC 검증과 JSON 파싱이 요청마다 두 번씩 일어났음
+ * 이제는 TokenProvider.verify 가 한 번 검증한 결과(상태, 이메일, 만료시간, 권한)를 이 객체에 담아서 돌려주고
+ * 필터는 이 객체로 Authentication 을 만든다.
+ **/
+@Getter
+public final class VerifiedToken {
+
+    /**
+     * 기존 validateToken 의 리턴값(1, 2, -1)을 그대로 flag 로 유지
+     */
+    public enum Status {
+        VALID(1),
+        EXPIRED(2),
+        INVALID(-1);
+
+        private final int flag;
+
+        Status(int flag) {
+            this.flag = flag;
+        }
+
+        public int getFlag() {
+            return flag;
+        }
+    }
+
+    // rm 클레임이 없는 토큰 (auth 문자열을 쓰는 기존 형식)
+    public static final long NO_ROLE_MASK = -1L;
+
+    // 잘못된 토큰은 담을 정보가 없으므로 하나만 만들어서 재사용
+    static final VerifiedToken INVALID = new VerifiedToken(Status.INVALID, null, 0L, null, NO_ROLE_MASK, null);
+
+    // 서명 검증 전에 만료로 걸러진 토큰, 서명을 확인하지 않았으므로 클레임을 담지 않음
+    static final VerifiedToken EXPIRED = new VerifiedToken(Status.EXPIRED, null, 0L, null, NO_ROLE_MASK, null);
+
+    private final Status status;
+    private final String subject;       // sub : 멤버 이메일 (compact 형식은 memberId)
+    private final long expiration;      // exp : epoch millis
+    private final String authorities;   // auth : ROLE_USER,ROLE_ADMIN
+    private final long roleMask;        // rm : MemberAuth ordinal 비트마스크 (compact 형식만)
+    private final String tokenId;       // jti : 토큰 폐기(로그아웃)용 ID, 이전에 발급된 토큰은 null
+
+    private VerifiedToken(Status status, String subject, long expiration, String authorities, long roleMask, String tokenId) {
+        this.status = status;
+        this.subject = subject;
+        this.expiration = expiration;
+        this.authorities = authorities;
+        this.roleMask = roleMask;
+        this.tokenId = tokenId;
+    }
+
+    static VerifiedToken valid(String subject, long expiration, String authorities, long roleMask, String tokenId) {
+        return new VerifiedToken(Status.VALID, subject, expiration, authorities, roleMask, tokenId);
+    }
+
+    // 만료된 토큰이더라도 서명은 검증된 상태이므로 클레임을 같이 담아둔다. (reissue 에서 사용)
+    static VerifiedToken expired(String subject, long expiration, String authorities, long roleMask, String tokenId) {
+        return new VerifiedToken(Status.EXPIRED, subject, expiration, authorities, roleMask, tokenId);
+    }
+
+    /**
+     * @return sub 에 memberId, rm 에 권한 비트마스크를 담은 compact 형식이면 true
+     */
+    public boolean isCompact() {
+        return roleMask != NO_ROLE_MASK;
+    }
+
+    public int getFlag() {
+        return status.getFlag();
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+
+    public boolean isExpired() {
+        return status == Status.EXPIRED;
+    }
+}
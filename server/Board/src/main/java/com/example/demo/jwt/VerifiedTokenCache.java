@@ -0,0 +1,144 @@
+package com.example.demo.jwt;
+
+import com.example.demo.util.ExpiringCache;
+import com.example.demo.util.VirtualThreads;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * VerifiedTokenCache 설명 : 한 번 검증한 엑세스 토큰의 Authentication 을 캐싱
+ * 모바일 클라이언트는 같은 엑세스 토큰을 유효기간(30분) 동안 수백 번 보내므로
+ * 토큰 바이트의 SHA-256 다이제스트를 키로 검증 결과를 저장해두고
+ * 캐시 히트인 경우 HMAC 검증이나 JSON 파싱 없이 바로 Authentication 을 돌려준다.
+ *
+ * 엔트리는 토큰 자체의 exp 에 만료되고, 전체 크기는 jwt.cache.max-memory 로 제한
+ * (엔트리 하나의 크기를 대략 ENTRY_BYTES 로 잡고 최대 개수를 계산, 만료와 개수 제한은 ExpiringCache)
+ * jwt.cache.enabled 가 false 면 아무것도 저장하지 않는다.
+ *
+ * 엔트리에 토큰의 jti 를 같이 저장해서 캐시 히트여도 TokenDenylist.isRevoked 로 폐기 여부를 확인하도록 함
+ * (폐기 여부를 확인한 뒤 put 하기 전에 로그아웃되면 remove 가 put 보다 먼저 실행되어 폐기된 토큰이 캐시에 남을 수 있음)
+ **/
+@Slf4j
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    // 키(다이제스트) + jti + Authentication(principal, 권한 목록) 을 합친 대략적인 엔트리 크기
+    static final long ENTRY_BYTES = 512;
+
+    private final boolean enabled;
+    private final ExpiringCache<ByteBuffer, Entry> entries;
+
+    // 로그아웃으로 지운 엔트리 (jwt.cache.evictions 에 같이 셈)
+    private final LongAdder removals = new LongAdder();
+
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(VerifiedTokenCache::newDigest);
+    private final MessageDigest prototype = newDigest();
+
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:false}") boolean enabled,
+                              @Value("${jwt.cache.max-memory:16MB}") DataSize maxMemory) {
+        this.enabled = enabled;
+        this.entries = new ExpiringCache<>((int) Math.max(1, Math.min(Integer.MAX_VALUE, maxMemory.toBytes() / ENTRY_BYTES)));
+        log.debug("VerifiedTokenCache enabled = {}, maxEntries = {}", enabled, entries.getMaxEntries());
+    }
+
+    /**
+     * @return 캐시에 있고 아직 만료되지 않은 토큰이면 jti 와 Authentication, 아니면 null (폐기 여부는 호출한 쪽에서 확인)
+     */
+    public Entry get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        return entries.get(keyOf(token)); // 토큰의 exp 가 지났으면 제거
+    }
+
+    /**
+     * @param verifiedToken 검증이 끝난 토큰 (유효한 토큰만 저장, 토큰의 exp 에 만료)
+     */
+    public void put(String token, VerifiedToken verifiedToken, Authentication authentication) {
+        if (!enabled || !verifiedToken.isValid()) {
+            return;
+        }
+        entries.put(keyOf(token), new Entry(verifiedToken.getTokenId(), authentication), verifiedToken.getExpiration());
+    }
+
+    /**
+     * 로그아웃 등으로 폐기된 토큰은 캐시에서 바로 지운다.
+     */
+    public void remove(String token) {
+        if (enabled && entries.remove(keyOf(token))) {
+            removals.increment();
+        }
+    }
+
+    private ByteBuffer keyOf(String token) {
+        return ByteBuffer.wrap(digest().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    // 가상 쓰레드는 요청마다 새로 생기므로 ThreadLocal 대신 원본을 복제 (Provider 조회 생략)
+    private MessageDigest digest() {
+        if (!VirtualThreads.isVirtual()) {
+            return digests.get();
+        }
+        try {
+            return (MessageDigest) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return newDigest();
+        }
+    }
+
+    public long getHitCount() {
+        return entries.getHitCount();
+    }
+
+    public long getMissCount() {
+        return entries.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return entries.getEvictionCount() + removals.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.cache.hits", this, VerifiedTokenCache::getHitCount).register(registry);
+        FunctionCounter.builder("jwt.cache.misses", this, VerifiedTokenCache::getMissCount).register(registry);
+        FunctionCounter.builder("jwt.cache.evictions", this, VerifiedTokenCache::getEvictionCount).register(registry);
+        Gauge.builder("jwt.cache.size", this, VerifiedTokenCache::size).register(registry);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Entry {
+        // jti 가 없는 이전 토큰이면 null (폐기할 수 없음)
+        private final String tokenId;
+        private final Authentication authentication;
+    }
+}
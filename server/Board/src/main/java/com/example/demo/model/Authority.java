@@ -5,8 +5,13 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import org.hibernate.annotations.Immutable;
+
 import javax.persistence.*;
 
+// 권한은 시작할 때 넣어두고 바뀌지 않는 기준 데이터 -> @Immutable 로 dirty checking, 스냅샷을 하지 않음
+// 인스턴스는 AuthorityRegistry 가 들고 있는 것을 공유
+@Immutable
 @Entity
 @Table(name = "authority")
 @Getter
@@ -22,5 +27,6 @@ public class Authority {
     public String getAuthorityName() {
         return this.authorityName.toString();
     }
+
 }
 
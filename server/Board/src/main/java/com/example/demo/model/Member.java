@@ -9,6 +9,7 @@ import javax.persistence.*;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -73,14 +74,17 @@ public class Member {
                 .collect(Collectors.joining(","));
     }
 
-    public void updateMember(MemberUpdateDTO dto, PasswordEncoder passwordEncoder) {
+    /**
+     * @param authorityLookup 권한 인스턴스 (AuthorityRegistry::get, 새 Authority 를 만들지 않음)
+     */
+    public void updateMember(MemberUpdateDTO dto, PasswordEncoder passwordEncoder, Function<MemberAuth, Authority> authorityLookup) {
         if(dto.getPassword() != null) this.password = passwordEncoder.encode(dto.getPassword());
         if(dto.getUsername() != null) this.username = dto.getUsername();
         if(dto.getAuthorities().size() > 0) {
             this.authorities = dto.getAuthorities().stream()
                     .filter(MemberAuth::containsKey)
                     .map(MemberAuth::get)
-                    .map(Authority::new)
+                    .map(authorityLookup)
                     .collect(Collectors.toSet());
         }
     }
@@ -39,6 +39,13 @@ public enum MemberAuth {
         return this.abbreviation;
     }
 
+    /**
+     * compact 토큰의 rm 클레임에 들어가는 비트 (ordinal 기준이므로 새 권한은 항상 맨 뒤에 추가해야 함)
+     */
+    public long getMask() {
+        return 1L << this.ordinal();
+    }
+
     public static MemberAuth get(String abbreviation) {
         return lookup.get(abbreviation);
     }
@@ -1,5 +1,6 @@
 package com.example.demo.model;
 
+import com.example.demo.util.TokenDigest;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -7,29 +8,33 @@ import lombok.NoArgsConstructor;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 
 
 //리프레시 토큰을 RDBMS로 관리하기 위해 엔티티를 생성, Redis가 일반적이지만 편의상 RDBMS로 관리합
 // Member 와 Authority 그리고 RefreshToken 은 JpaRepository 를 이용
+// 토큰 문자열 대신 SHA-256 다이제스트(BINARY(32))를 저장 (TokenDigest), 기존 value 컬럼 이전은 RefreshTokenJdbcRepository 참고
 @Getter
 @NoArgsConstructor
-@Table(name = "refresh_token")
+@Table(name = "refresh_token", indexes = @Index(name = "idx_refresh_token_digest", columnList = "digest"))
 @Entity
 public class RefreshToken {
+    // key 는 MySQL, H2 의 예약어라서 Hibernate 가 DB 에 맞는 따옴표로 감싸도록 백틱으로 지정
     @Id
+    @Column(name = "`key`")
     private String key;
 
-    @Column(nullable = false)
-    private String value;
-
-    public void updateValue(String token) {
-        this.value = token;
-    }
+    @Column(nullable = false, length = TokenDigest.LENGTH, columnDefinition = "BINARY(32)")
+    private byte[] digest;
 
     @Builder
-    public RefreshToken(String key, String value) {
+    public RefreshToken(String key, byte[] digest) {
         this.key = key;
-        this.value = value;
+        this.digest = digest;
+    }
+
+    public static RefreshToken of(String key, String token) {
+        return new RefreshToken(key, TokenDigest.of(token));
     }
 }
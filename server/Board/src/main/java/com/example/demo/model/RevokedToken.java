@@ -0,0 +1,33 @@
+package com.example.demo.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+
+// 만료 전에 폐기(로그아웃)된 엑세스 토큰의 jti, 서버가 재시작되면 이 테이블로 TokenDenylist 를 다시 만든다.
+// 토큰의 exp 가 지난 행은 더 이상 필요 없으므로 주기적으로 삭제
+@Getter
+@NoArgsConstructor
+@Table(name = "revoked_token")
+@Entity
+public class RevokedToken {
+    @Id
+    @Column(name = "token_id", length = 32)
+    private String tokenId;
+
+    // 토큰의 exp (epoch millis)
+    @Column(name = "expiration", nullable = false)
+    private long expiration;
+
+    @Builder
+    public RevokedToken(String tokenId, long expiration) {
+        this.tokenId = tokenId;
+        this.expiration = expiration;
+    }
+}
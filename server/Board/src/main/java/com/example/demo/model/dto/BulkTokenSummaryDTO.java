@@ -0,0 +1,29 @@
+package com.example.demo.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+/**
+ * BulkTokenSummaryDTO 설명 : 토큰 일괄 발급 NDJSON 의 마지막 줄
+ * 상태코드(200)는 첫 줄을 쓸 때 이미 나갔으므로 중간에 실패하면 complete=false 와 error 로 알린다.
+ * 마지막 줄이 없으면 연결이 끊긴 것이므로 클라이언트는 받은 줄까지만 발급된 것으로 처리
+ **/
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkTokenSummaryDTO {
+    private boolean complete;
+    private int requested;
+    private int processed;
+    private String error;
+
+    public static BulkTokenSummaryDTO complete(int requested) {
+        return new BulkTokenSummaryDTO(true, requested, requested, null);
+    }
+
+    public static BulkTokenSummaryDTO failed(int requested, int processed, String errorCode) {
+        return new BulkTokenSummaryDTO(false, requested, processed, errorCode);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.model.dto;
+
+import com.example.demo.model.Authority;
+import com.example.demo.model.Member;
+import com.example.demo.model.MemberAuth;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * MemberAuthDTO 설명 : 인증에 필요한 멤버 정보 (이메일, 비밀번호 해시, 활성화 여부, 권한 이름)
+ * 엔티티를 로딩하지 않고 한 번의 쿼리로 가져오므로 영속성 컨텍스트, 권한 컬렉션 지연 로딩이 없음
+ * 토큰 발급에는 toMember 로 만든 준영속 Member 를 사용
+ **/
+@Getter
+@AllArgsConstructor
+public class MemberAuthDTO {
+    private final Long memberId;
+    private final String email;
+    private final String password;
+    private final boolean activated;
+    private final Set<MemberAuth> authorities;
+
+    /**
+     * @param rows 같은 멤버의 행 (권한 수만큼)
+     * @return 행이 없으면 empty
+     */
+    public static Optional<MemberAuthDTO> of(List<MemberAuthRow> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        MemberAuthRow first = rows.get(0);
+        Set<MemberAuth> authorities = EnumSet.noneOf(MemberAuth.class);
+        for (MemberAuthRow row : rows) {
+            if (row.getAuthorityName() != null) {
+                authorities.add(row.getAuthorityName());
+            }
+        }
+        return Optional.of(new MemberAuthDTO(first.getMemberId(), first.getEmail(), first.getPassword(), first.isActivated(),
+                Collections.unmodifiableSet(authorities))); // 캐시에서 공유하므로 불변
+    }
+
+    // Member.getAuthoritiesToString 과 같은 형식 (ROLE_USER,ROLE_ADMIN)
+    public String getAuthoritiesToString() {
+        return authorities.stream()
+                .map(MemberAuth::toString)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * @param authorityLookup 권한 인스턴스 (AuthorityRegistry::get)
+     * @return 토큰 발급용 준영속 Member (username 은 없음, 저장하면 안됨)
+     */
+    public Member toMember(Function<MemberAuth, Authority> authorityLookup) {
+        Set<Authority> set = new HashSet<>();
+        for (MemberAuth authority : authorities) {
+            set.add(authorityLookup.apply(authority));
+        }
+        return new Member(memberId, null, email, password, activated, set);
+    }
+}
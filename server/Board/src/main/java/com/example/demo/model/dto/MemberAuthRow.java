@@ -0,0 +1,19 @@
+package com.example.demo.model.dto;
+
+import com.example.demo.model.MemberAuth;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * MemberAuthRow 설명 : MemberRepository.findAuthRowsByEmail 의 한 행 (멤버 컬럼 + 권한 하나)
+ * 권한이 여러 개면 같은 멤버가 권한 수만큼 나오므로 MemberAuthDTO.of 로 합친다.
+ **/
+@Getter
+@AllArgsConstructor
+public class MemberAuthRow {
+    private final Long memberId;
+    private final String email;
+    private final String password;
+    private final boolean activated;
+    private final MemberAuth authorityName; // 권한이 없으면 null (left join)
+}
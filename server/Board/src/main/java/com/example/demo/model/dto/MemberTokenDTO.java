@@ -0,0 +1,37 @@
+package com.example.demo.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+/**
+ * MemberTokenDTO 설명 : 토큰 일괄 발급 결과 한 줄 (NDJSON)
+ * 발급에 실패한 멤버는 토큰 대신 error 에 에러코드를 담는다.
+ **/
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MemberTokenDTO {
+    private String email;
+    private String grantType;
+    private String accessToken;
+    private String refreshToken;
+    private String error;
+
+    public static MemberTokenDTO of(String email, TokenDTO tokenDTO) {
+        return MemberTokenDTO.builder()
+                .email(email)
+                .grantType(tokenDTO.getGrantType())
+                .accessToken(tokenDTO.getAccessToken())
+                .refreshToken(tokenDTO.getRefreshToken())
+                .build();
+    }
+
+    public static MemberTokenDTO error(String email, String errorCode) {
+        return MemberTokenDTO.builder()
+                .email(email)
+                .error(errorCode)
+                .build();
+    }
+}
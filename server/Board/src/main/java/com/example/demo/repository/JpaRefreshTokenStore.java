@@ -0,0 +1,56 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.RefreshToken;
+import com.example.demo.util.TokenDigest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JpaRefreshTokenStore 설명 : 기존 방식 그대로 refresh_token 테이블을 JPA 로 읽고 쓰는 저장소 (기본값)
+ * 일괄 발급만 RefreshTokenJdbcRepository 의 배치 저장을 사용
+ **/
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.refresh-token-store.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenJdbcRepository refreshTokenJdbcRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<byte[]> find(String key) {
+        return refreshTokenRepository.findByKey(key).map(RefreshToken::getDigest);
+    }
+
+    @Override
+    @Transactional
+    public void save(String key, String token) {
+        refreshTokenRepository.save(RefreshToken.of(key, token));
+    }
+
+    @Override
+    @Transactional
+    public void saveAll(List<RefreshToken> refreshTokens) {
+        refreshTokenJdbcRepository.saveAll(refreshTokens);
+    }
+
+    // 조회 후 dirtyChecking 으로 바꾸면 같은 토큰으로 동시에 재발급할 때 둘 다 성공하므로 조건부 UPDATE 한 번으로 교체
+    @Override
+    @Transactional
+    public boolean replace(String key, String expectedToken, String newToken) {
+        return refreshTokenRepository.replaceDigest(key, TokenDigest.of(expectedToken), TokenDigest.of(newToken)) == 1;
+    }
+
+    @Override
+    @Transactional
+    public void delete(String key) {
+        refreshTokenRepository.findByKey(key)
+                .ifPresent(refreshTokenRepository::delete);
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.dto.MemberAuthDTO;
+import com.example.demo.util.ExpiringCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MemberCache 설명 : 이메일 -> 멤버, 권한(MemberAuthDTO) 읽기 캐시
+ * 로그인, 재발급, /member, /member/{email} 마다 같은 멤버를 조회하므로 한 번 읽은 결과를 member.cache.ttl 동안 저장한다.
+ * MemberAuthDTO 는 불변이므로 그대로 공유
+ *
+ * - 개수는 member.cache.max-size 까지, 가득 차면 만료된 엔트리부터 지우고 1/8 정도 비움 (ExpiringCache, VerifiedTokenCache 와 같음)
+ * - 멤버나 권한이 바뀌면 MemberCacheInvalidator 가 커밋된 뒤에 evict (evictAfterCommit)
+ * - 커밋 전에 시작한 조회가 예전 값을 늦게 저장하지 않도록 무효화할 때마다 generation 을 올리고,
+ *   조회를 시작할 때와 값이 다르면 저장하지 않음
+ * - 같은 트랜잭션 안에서 바꾼 멤버를 다시 읽으면 커밋 전 값이므로 캐시를 거치지 않음
+ *
+ * compact 토큰의 memberId -> 이메일도 같은 개수, ttl 로 저장 (findEmail, 이메일은 바뀌지 않으므로 무효화 없이 ttl 로만 지움
+ * -> 탈퇴한 멤버의 매핑은 ttl 동안 남음)
+ *
+ * 주의 : 이 서버의 JPA 를 거치지 않은 변경(다른 인스턴스, reactive 서버, 직접 SQL)은 ttl 이 지나야 반영됨
+ **/
+@Slf4j
+@Component
+public class MemberCache implements MeterBinder {
+
+    private final MemberRepository memberRepository;
+    private final boolean enabled;
+    private final long ttlMillis;
+
+    private final ExpiringCache<String, MemberAuthDTO> entries;
+    private final ExpiringCache<Long, String> emailsById;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    public MemberCache(MemberRepository memberRepository,
+                       @Value("${member.cache.enabled:true}") boolean enabled,
+                       @Value("${member.cache.max-size:10000}") int maxEntries,
+                       @Value("${member.cache.ttl:5m}") Duration ttl) {
+        this.memberRepository = memberRepository;
+        this.enabled = enabled;
+        this.entries = new ExpiringCache<>(maxEntries);
+        this.emailsById = new ExpiringCache<>(maxEntries);
+        this.ttlMillis = ttl.toMillis();
+        log.debug("MemberCache enabled = {}, maxEntries = {}, ttl = {}", enabled, maxEntries, ttl);
+    }
+
+    /**
+     * @return 캐시에 있으면 그대로, 없으면 MemberRepository.findAuthByEmail 로 조회해서 저장 (없는 멤버는 저장하지 않음)
+     */
+    public Optional<MemberAuthDTO> get(String email) {
+        if (!enabled || isPendingInCurrentTransaction(email)) {
+            return memberRepository.findAuthByEmail(email);
+        }
+        MemberAuthDTO cached = entries.get(email); // ttl 이 지났으면 제거
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long startGeneration = generation.get();
+        Optional<MemberAuthDTO> loaded = memberRepository.findAuthByEmail(email);
+        if (loaded.isPresent() && generation.get() == startGeneration) {
+            put(email, loaded.get());
+        }
+        return loaded;
+    }
+
+    /**
+     * @param memberId compact 토큰의 sub
+     * @return 캐시에 있으면 그대로, 없으면 MemberRepository.findEmailByMemberId 로 조회해서 저장 (없는 멤버는 저장하지 않음)
+     */
+    public Optional<String> findEmail(long memberId) {
+        if (!enabled) {
+            return memberRepository.findEmailByMemberId(memberId);
+        }
+        String cached = emailsById.get(memberId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<String> loaded = memberRepository.findEmailByMemberId(memberId);
+        loaded.ifPresent(email -> emailsById.put(memberId, email, System.currentTimeMillis() + ttlMillis));
+        return loaded;
+    }
+
+    private void put(String email, MemberAuthDTO member) {
+        entries.put(email, member, System.currentTimeMillis() + ttlMillis);
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋된 뒤에, 아니면 바로 지운다.
+     */
+    public void evictAfterCommit(String email) {
+        if (!enabled) {
+            return;
+        }
+        generation.incrementAndGet();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(email);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> emails = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, emails);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    emails.forEach(MemberCache.this::evict);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(MemberCache.this);
+                }
+            });
+            pending = emails;
+        }
+        pending.add(email);
+    }
+
+    private void evict(String email) {
+        generation.incrementAndGet();
+        entries.remove(email);
+        invalidations.increment();
+    }
+
+    private boolean isPendingInCurrentTransaction(String email) {
+        Object pending = TransactionSynchronizationManager.getResource(this);
+        return pending != null && ((Set<?>) pending).contains(email);
+    }
+
+    public long getHitCount() {
+        return entries.getHitCount();
+    }
+
+    public long getMissCount() {
+        return entries.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return entries.getEvictionCount();
+    }
+
+    public double getHitRatio() {
+        long hit = entries.getHitCount();
+        long total = hit + entries.getMissCount();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("member.cache.hits", this, MemberCache::getHitCount).register(registry);
+        FunctionCounter.builder("member.cache.misses", this, MemberCache::getMissCount).register(registry);
+        FunctionCounter.builder("member.cache.evictions", this, MemberCache::getEvictionCount)
+                .description("ttl 이 지났거나 가득 차서 지운 엔트리 수")
+                .register(registry);
+        FunctionCounter.builder("member.cache.invalidations", invalidations, LongAdder::doubleValue)
+                .description("멤버, 권한 변경으로 지운 횟수")
+                .register(registry);
+        Gauge.builder("member.cache.size", this, MemberCache::size).register(registry);
+        FunctionCounter.builder("member.cache.email.hits", emailsById, ExpiringCache::getHitCount)
+                .description("compact 토큰의 memberId -> 이메일 캐시 히트")
+                .register(registry);
+        FunctionCounter.builder("member.cache.email.misses", emailsById, ExpiringCache::getMissCount)
+                .description("compact 토큰의 memberId -> 이메일 캐시 미스 (findEmailByMemberId 조회)")
+                .register(registry);
+        Gauge.builder("member.cache.email.size", emailsById, ExpiringCache::size).register(registry);
+        Gauge.builder("member.cache.hit.ratio", this, MemberCache::getHitRatio)
+                .description("시작한 뒤 누적 히트율 (구간 히트율은 hits, misses 의 rate 로 계산)")
+                .register(registry);
+    }
+}
@@ -1,11 +1,39 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.Member;
+import com.example.demo.model.dto.MemberAuthDTO;
+import com.example.demo.model.dto.MemberAuthRow;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface MemberRepository extends JpaRepository<Member,Long> {
     Optional<Member> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // 권한까지 수정하는 경우 : 멤버와 권한을 한 번의 쿼리로 가져온다. (엔티티 그래프 -> left outer join)
+    @EntityGraph(attributePaths = "authorities")
+    Optional<Member> findWithAuthoritiesByEmail(String email);
+
+    // 인증용 프로젝션 : 엔티티 대신 필요한 컬럼과 권한 이름만 한 번에 조회 (권한 수만큼 행이 나옴)
+    @Query("select new com.example.demo.model.dto.MemberAuthRow(m.memberId, m.email, m.password, m.activated, a.authorityName)"
+            + " from Member m left join m.authorities a where m.email = :email")
+    List<MemberAuthRow> findAuthRowsByEmail(@Param("email") String email);
+
+    default Optional<MemberAuthDTO> findAuthByEmail(String email) {
+        return MemberAuthDTO.of(findAuthRowsByEmail(email));
+    }
+
+    // 토큰 일괄 발급용 : 멤버와 권한을 한 번의 쿼리로 가져온다.
+    @Query("select distinct m from Member m left join fetch m.authorities where m.email in :emails")
+    List<Member> findAllWithAuthoritiesByEmailIn(@Param("emails") Collection<String> emails);
+
+    // compact 토큰의 sub(memberId) -> 이메일, 엔티티 전체를 로딩하지 않고 이메일 컬럼만 조회
+    @Query("select m.email from Member m where m.memberId = :memberId")
+    Optional<String> findEmailByMemberId(@Param("memberId") Long memberId);
 }
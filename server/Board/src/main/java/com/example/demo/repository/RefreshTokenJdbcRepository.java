@@ -0,0 +1,159 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.RefreshToken;
+import com.example.demo.util.ServerTiming;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * RefreshTokenJdbcRepository 설명 : 리프레시 토큰을 JDBC 배치로 저장
+ * 토큰 일괄 발급처럼 수만 건을 저장할 때 JPA 로 한 건씩 merge 하지 않도록
+ * 이미 있는 키를 한 번에 조회한 뒤 배치 UPDATE, 배치 INSERT 로 나눠서 저장한다.
+ * (MySQL, H2 둘 다 동작하도록 upsert 구문은 사용하지 않음)
+ * key 는 MySQL, H2 모두 예약어라서 DB 의 식별자 따옴표(MySQL `key`, H2 "key")로 감싼다. (RefreshToken 엔티티와 같은 이름)
+ * 이전용 value 컬럼도 H2 2.x 의 예약어라서 같이 감싼다.
+ * 같은 트랜잭션 안에서 호출해야 하고, 한 번에 넘기는 개수는 IN 절에 들어갈 정도(수백 건)로 나눠서 호출
+ **/
+@Slf4j
+@Repository
+public class RefreshTokenJdbcRepository {
+
+    private static final int MIGRATION_CHUNK_SIZE = 500;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${jwt.refresh-token-store.migrate-legacy-values:false}")
+    boolean migrateLegacyValues;
+
+    // 따옴표로 감싼 key, value 컬럼, init 에서 DB 메타데이터로 정함
+    private String keyColumn;
+    private String valueColumn;
+    private String updateSql;
+    private String insertSql;
+
+    @PostConstruct
+    public void init() {
+        String quote = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getIdentifierQuoteString());
+        keyColumn = quote(quote, "key");
+        valueColumn = quote(quote, "value");
+        updateSql = "UPDATE refresh_token SET digest = ? WHERE " + keyColumn + " = ?";
+        insertSql = "INSERT INTO refresh_token (" + keyColumn + ", digest) VALUES (?, ?)";
+
+        if (migrateLegacyValues) { // 저장소 빈보다 먼저 초기화되므로 요청 전에 끝남
+            migrateLegacyValues();
+        }
+    }
+
+    // JPA 리포지토리는 spring.data.repository.invocations 로 자동 측정되지만 JdbcTemplate 리포지토리는 직접 측정
+    @Timed(value = "jdbc.repository.invocations", extraTags = {"repository", "RefreshTokenJdbcRepository", "method", "saveAll"}, histogram = true)
+    public void saveAll(List<RefreshToken> refreshTokens) {
+        if (refreshTokens.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+
+        Set<String> existingKeys = findExistingKeys(refreshTokens);
+        List<RefreshToken> updates = new ArrayList<>();
+        List<RefreshToken> inserts = new ArrayList<>();
+        for (RefreshToken token : refreshTokens) {
+            (existingKeys.contains(token.getKey()) ? updates : inserts).add(token);
+        }
+
+        jdbcTemplate.batchUpdate(
+                updateSql,
+                updates, updates.size(),
+                (ps, token) -> {
+                    ps.setBytes(1, token.getDigest());
+                    ps.setString(2, token.getKey());
+                });
+        jdbcTemplate.batchUpdate(
+                insertSql,
+                inserts, inserts.size(),
+                (ps, token) -> {
+                    ps.setString(1, token.getKey());
+                    ps.setBytes(2, token.getDigest());
+                });
+        ServerTiming.add(ServerTiming.Phase.DB, System.nanoTime() - start);
+    }
+
+    // ShardedRefreshTokenStore 가 로그아웃된 키를 모아서 삭제
+    @Timed(value = "jdbc.repository.invocations", extraTags = {"repository", "RefreshTokenJdbcRepository", "method", "deleteAll"}, histogram = true)
+    public void deleteAll(List<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        jdbcTemplate.batchUpdate(
+                "DELETE FROM refresh_token WHERE " + keyColumn + " = ?",
+                keys, keys.size(),
+                (ps, key) -> ps.setString(1, key));
+        ServerTiming.add(ServerTiming.Phase.DB, System.nanoTime() - start);
+    }
+
+    /**
+     * 테이블 전체를 한 행씩 넘김 (ShardedRefreshTokenStore 가 시작할 때 메모리 맵을 다시 만들 때 사용)
+     * @param consumer (key, digest)
+     */
+    public void forEach(BiConsumer<String, byte[]> consumer) {
+        jdbcTemplate.query("SELECT " + keyColumn + ", digest FROM refresh_token WHERE digest IS NOT NULL",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getString(1), rs.getBytes(2)));
+    }
+
+    /**
+     * 토큰 문자열(value 컬럼)로 저장된 기존 행을 다이제스트로 바꾸고 value 는 비움
+     * jwt.refresh-token-store.migrate-legacy-values=true 일 때 init 에서 한 번 실행
+     *
+     * MySQL 이전 순서
+     *  1. ALTER TABLE refresh_token ADD COLUMN digest BINARY(32) NULL, MODIFY value VARCHAR(255) NULL;
+     *     CREATE INDEX idx_refresh_token_digest ON refresh_token (digest);
+     *  2. migrate-legacy-values=true 로 서버 실행 -> 로그의 migrated 개수 확인
+     *  3. ALTER TABLE refresh_token DROP COLUMN value, MODIFY digest BINARY(32) NOT NULL;
+     *     이후에는 옵션을 끔 (value 컬럼이 없으면 실패)
+     */
+    public void migrateLegacyValues() {
+        int migrated = 0;
+        List<RefreshToken> chunk;
+        do {
+            chunk = jdbcTemplate.query(
+                    "SELECT " + keyColumn + ", " + valueColumn + " FROM refresh_token"
+                            + " WHERE digest IS NULL AND " + valueColumn + " IS NOT NULL LIMIT " + MIGRATION_CHUNK_SIZE,
+                    (rs, rowNum) -> RefreshToken.of(rs.getString(1), rs.getString(2)));
+            jdbcTemplate.batchUpdate(
+                    "UPDATE refresh_token SET digest = ?, " + valueColumn + " = NULL WHERE " + keyColumn + " = ?",
+                    chunk, chunk.size(),
+                    (ps, token) -> {
+                        ps.setBytes(1, token.getDigest());
+                        ps.setString(2, token.getKey());
+                    });
+            migrated += chunk.size();
+        } while (chunk.size() == MIGRATION_CHUNK_SIZE);
+        log.info("refresh_token legacy values migrated = {}", migrated);
+    }
+
+    private Set<String> findExistingKeys(List<RefreshToken> refreshTokens) {
+        String placeholders = String.join(",", Collections.nCopies(refreshTokens.size(), "?"));
+        Object[] keys = refreshTokens.stream().map(RefreshToken::getKey).toArray();
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT " + keyColumn + " FROM refresh_token WHERE " + keyColumn + " IN (" + placeholders + ")", String.class, keys));
+    }
+
+    // 따옴표를 지원하지 않는 DB 는 메타데이터가 " " 를 돌려줌
+    private static String quote(String quote, String identifier) {
+        return quote == null || quote.isBlank() ? identifier : quote + identifier + quote;
+    }
+}
@@ -2,9 +2,18 @@ package com.example.demo.repository;
 
 import com.example.demo.model.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken,Long> {
     Optional<RefreshToken> findByKey(String key);
+
+    // 저장된 다이제스트가 expectedDigest 일 때만 교체, 비교와 수정을 UPDATE 한 번으로 해서 동시에 재발급해도 하나만 성공
+    // 영속성 컨텍스트에 이미 읽어둔 RefreshToken 은 예전 값으로 남지만 수정하지 않으므로 덮어쓰지 않음
+    @Modifying(flushAutomatically = true)
+    @Query("update RefreshToken r set r.digest = :newDigest where r.key = :key and r.digest = :expectedDigest")
+    int replaceDigest(@Param("key") String key, @Param("expectedDigest") byte[] expectedDigest, @Param("newDigest") byte[] newDigest);
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.RefreshToken;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * RefreshTokenStore 설명 : 멤버 이메일 -> 리프레시 토큰 다이제스트 저장소 (토큰 문자열은 저장하지 않음, TokenDigest)
+ * jwt.refresh-token-store.type 으로 구현을 고른다.
+ *  - jpa (기본) : 지금처럼 refresh_token 테이블을 바로 읽고 씀 (JpaRefreshTokenStore)
+ *  - memory    : 메모리의 샤드 맵에서 읽고 쓰고, 테이블에는 모아서 나중에 씀 (ShardedRefreshTokenStore)
+ **/
+public interface RefreshTokenStore {
+
+    /**
+     * @return 저장된 리프레시 토큰의 다이제스트, 로그아웃 했거나 없으면 empty (TokenDigest.matches 로 비교)
+     */
+    Optional<byte[]> find(String key);
+
+    /**
+     * 있으면 교체, 없으면 추가
+     */
+    void save(String key, String token);
+
+    /**
+     * 토큰 일괄 발급용, 각 키마다 save 와 같음
+     */
+    void saveAll(List<RefreshToken> refreshTokens);
+
+    /**
+     * 저장된 토큰이 expectedToken 일 때만 newToken 으로 교체 (재발급에서 같은 리프레시 토큰을 두 번 쓰지 못하도록)
+     * @return 교체했으면 true
+     */
+    boolean replace(String key, String expectedToken, String newToken);
+
+    void delete(String key);
+}
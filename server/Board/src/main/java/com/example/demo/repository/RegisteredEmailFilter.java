@@ -0,0 +1,87 @@
+package com.example.demo.repository;
+
+import com.example.demo.util.BloomFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RegisteredEmailFilter 설명 : 가입된 이메일의 BloomFilter, 회원가입의 중복 검사 쿼리를 줄이기 위해 사용
+ * 시작할 때 member 테이블의 이메일을 한 번 읽어서 채우고, 가입할 때마다 추가한다.
+ * 필터가 없다고 하면 확실히 새 이메일이므로 existsByEmail 을 건너뛰고, 있을 수도 있다고 할 때만 조회
+ *
+ * - 최종 판단은 member.email 의 unique 제약 (다른 인스턴스에서 가입한 이메일, 동시에 같은 이메일로 가입하는 경우는
+ *   INSERT 가 실패하고 AuthService 가 DUPLICATE_USER 로 바꿈)
+ * - 대소문자만 다른 이메일은 MySQL 기본 collation 에서 같은 값이므로 소문자로 넣고 검사 (틀려도 조회 한 번 더 할 뿐)
+ * - 삭제는 지원하지 않음 (탈퇴한 이메일은 조회 한 번 더 할 뿐), 크기는 시작할 때 max(expected-size, 멤버 수 * 2) 로 정함
+ **/
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory") // ddl-auto 로 member 테이블이 만들어진 뒤에 읽음
+public class RegisteredEmailFilter implements MeterBinder {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int expectedSize;
+    private volatile BloomFilter bloomFilter;
+
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder checked = new LongAdder();
+
+    public RegisteredEmailFilter(JdbcTemplate jdbcTemplate,
+                                 @Value("${member.email-filter.expected-size:1000000}") int expectedSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.expectedSize = expectedSize;
+        this.bloomFilter = new BloomFilter(expectedSize);
+    }
+
+    // 요청을 받기 전에 가입된 이메일을 모두 넣어둠 (한 행씩 넘겨받아서 목록을 메모리에 올리지 않음)
+    @PostConstruct
+    public void load() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM member", Long.class);
+        int size = (int) Math.min(Integer.MAX_VALUE / 2, Math.max(expectedSize, (count == null ? 0 : count) * 2));
+        BloomFilter loaded = new BloomFilter(size);
+        jdbcTemplate.query("SELECT email FROM member",
+                (RowCallbackHandler) rs -> loaded.put(normalize(rs.getString(1))));
+        this.bloomFilter = loaded;
+        log.debug("RegisteredEmailFilter loaded = {}, size = {}", count, size);
+    }
+
+    /**
+     * @return false 면 가입되지 않은 이메일, true 면 가입되었을 수도 있는 이메일 (DB 에서 확인해야 함)
+     */
+    public boolean mightContain(String email) {
+        boolean result = bloomFilter.mightContain(normalize(email));
+        (result ? checked : skipped).increment();
+        return result;
+    }
+
+    public void put(String email) {
+        bloomFilter.put(normalize(email));
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("member.email.filter", skipped, LongAdder::doubleValue)
+                .description("회원가입 중복 검사에서 블룸 필터 결과")
+                .tag("result", "new")
+                .register(registry);
+        FunctionCounter.builder("member.email.filter", checked, LongAdder::doubleValue)
+                .description("회원가입 중복 검사에서 블룸 필터 결과")
+                .tag("result", "maybe")
+                .register(registry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken,String> {
+    // 아직 만료되지 않은 폐기 토큰 (시작할 때 TokenDenylist 를 다시 만들 때 사용)
+    List<RevokedToken> findAllByExpirationGreaterThan(long now);
+
+    // exp 가 지난 폐기 토큰은 어차피 만료로 거절되므로 삭제
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiration <= :now")
+    int deleteExpired(@Param("now") long now);
+}
@@ -0,0 +1,279 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.RefreshToken;
+import com.example.demo.util.TokenDigest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ShardedRefreshTokenStore 설명 : 리프레시 토큰을 메모리에 두고 테이블에는 나중에 모아서 쓰는 저장소 (jwt.refresh-token-store.type=memory)
+ * 로그인, 재발급마다 refresh_token 을 읽고 쓰던 것을 메모리 맵 조회/수정으로 바꾸고
+ * 바뀐 키만 샤드마다 dirty 에 모아두었다가 flusher 쓰레드가 flush-interval 마다 JDBC 배치로 저장한다.
+ *
+ * - 키를 SHARDS 개의 샤드로 나누고 샤드마다 락을 따로 잡으므로 서로 다른 멤버의 로그인은 거의 경합하지 않음
+ *   (락 안에서는 HashMap 작업만 하고 I/O 는 하지 않음 -> 가상 쓰레드에서도 캐리어를 오래 잡지 않도록 ReentrantLock)
+ * - 같은 키가 flush 전에 여러 번 바뀌면 마지막 값만 저장, 로그아웃은 DELETED 로 표시했다가 삭제
+ * - 저장에 실패하면 그 사이에 더 새 값이 없는 키만 dirty 에 되돌려서 다음에 다시 시도
+ * - 시작할 때 테이블 전체를 읽어서 메모리 맵을 다시 만들고, 종료할 때 남은 변경을 모두 저장
+ *
+ * 주의 : 서버가 비정상 종료되면 마지막 flush-interval 동안의 변경은 사라짐 (해당 멤버는 다시 로그인)
+ *       메모리 맵은 인스턴스마다 따로이므로 서버가 여러 대면 같은 멤버의 요청이 같은 서버로 가야 함
+ **/
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jwt.refresh-token-store.type", havingValue = "memory")
+public class ShardedRefreshTokenStore implements RefreshTokenStore, MeterBinder {
+
+    // 2의 거듭제곱 (hash & (SHARDS - 1))
+    private static final int SHARDS = 64;
+
+    // 한 번에 저장하는 개수 (RefreshTokenJdbcRepository.saveAll 의 IN 절 크기)
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    // dirty 에서 삭제된 키를 나타내는 값 (== 로 비교)
+    private static final byte[] DELETED = new byte[0];
+
+    private final Shard[] shards = new Shard[SHARDS];
+    private final RefreshTokenJdbcRepository refreshTokenJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long flushIntervalMillis;
+    private final ScheduledExecutorService flusher;
+
+    public ShardedRefreshTokenStore(RefreshTokenJdbcRepository refreshTokenJdbcRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${jwt.refresh-token-store.flush-interval:200ms}") Duration flushInterval) {
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard();
+        }
+        this.refreshTokenJdbcRepository = refreshTokenJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "refresh-token-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 요청을 받기 전에 테이블에서 메모리 맵을 다시 만들고 flusher 를 시작
+    @PostConstruct
+    public void load() {
+        int[] loaded = new int[1];
+        refreshTokenJdbcRepository.forEach((key, value) -> {
+            shard(key).tokens.put(key, value);
+            loaded[0]++;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        log.debug("ShardedRefreshTokenStore loaded = {}, flushInterval = {}ms", loaded[0], flushIntervalMillis);
+    }
+
+    // 남은 변경을 모두 저장하고 종료
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+
+    @Override
+    public Optional<byte[]> find(String key) {
+        Shard shard = shard(key);
+        shard.lock.lock();
+        try {
+            return Optional.ofNullable(shard.tokens.get(key));
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public void save(String key, String token) {
+        put(key, TokenDigest.of(token));
+    }
+
+    @Override
+    public void saveAll(List<RefreshToken> refreshTokens) {
+        for (RefreshToken refreshToken : refreshTokens) {
+            put(refreshToken.getKey(), refreshToken.getDigest());
+        }
+    }
+
+    private void put(String key, byte[] digest) {
+        Shard shard = shard(key);
+        shard.lock.lock();
+        try {
+            shard.tokens.put(key, digest);
+            shard.dirty.put(key, digest);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean replace(String key, String expectedToken, String newToken) {
+        // 해시 계산은 락 밖에서
+        byte[] expectedDigest = TokenDigest.of(expectedToken);
+        byte[] newDigest = TokenDigest.of(newToken);
+        Shard shard = shard(key);
+        shard.lock.lock();
+        try {
+            byte[] current = shard.tokens.get(key);
+            if (current == null || !MessageDigest.isEqual(current, expectedDigest)) {
+                return false;
+            }
+            shard.tokens.put(key, newDigest);
+            shard.dirty.put(key, newDigest);
+            return true;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        Shard shard = shard(key);
+        shard.lock.lock();
+        try {
+            if (shard.tokens.remove(key) != null) {
+                shard.dirty.put(key, DELETED);
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * 샤드마다 dirty 를 새 맵으로 바꿔서 가져온 뒤 (락은 교체하는 동안만) 락 밖에서 배치로 저장
+     * 한 샤드의 저장이 실패해도 되돌려두고 나머지 샤드는 계속 저장, 실패가 있었으면 마지막에 첫 예외를 던짐
+     */
+    void flush() {
+        RuntimeException failure = null;
+        for (Shard shard : shards) {
+            Map<String, byte[]> drained;
+            shard.lock.lock();
+            try {
+                if (shard.dirty.isEmpty()) {
+                    continue;
+                }
+                drained = shard.dirty;
+                shard.dirty = new HashMap<>();
+            } finally {
+                shard.lock.unlock();
+            }
+
+            try {
+                write(drained);
+            } catch (RuntimeException e) {
+                requeue(shard, drained);
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) { // 다음 주기에 다시 시도 (예외가 나가면 스케줄이 멈춤)
+            log.warn("refresh token flush failed, pending = {}", pendingCount(), e);
+        }
+    }
+
+    private void write(Map<String, byte[]> drained) {
+        List<RefreshToken> upserts = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        for (Map.Entry<String, byte[]> entry : drained.entrySet()) {
+            if (entry.getValue() == DELETED) {
+                deletes.add(entry.getKey());
+            } else {
+                upserts.add(RefreshToken.builder().key(entry.getKey()).digest(entry.getValue()).build());
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < upserts.size(); from += FLUSH_BATCH_SIZE) {
+                refreshTokenJdbcRepository.saveAll(upserts.subList(from, Math.min(upserts.size(), from + FLUSH_BATCH_SIZE)));
+            }
+            refreshTokenJdbcRepository.deleteAll(deletes);
+        });
+    }
+
+    // 저장에 실패한 변경을 되돌림, 그 사이에 다시 바뀐 키는 새 값을 유지
+    private static void requeue(Shard shard, Map<String, byte[]> drained) {
+        shard.lock.lock();
+        try {
+            drained.forEach(shard.dirty::putIfAbsent);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private Shard shard(String key) {
+        int hash = key.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (SHARDS - 1)];
+    }
+
+    public int size() {
+        return sum(false);
+    }
+
+    public int pendingCount() {
+        return sum(true);
+    }
+
+    private int sum(boolean dirty) {
+        int total = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                total += dirty ? shard.dirty.size() : shard.tokens.size();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("refresh.token.store.size", this, ShardedRefreshTokenStore::size).register(registry);
+        Gauge.builder("refresh.token.store.pending", this, ShardedRefreshTokenStore::pendingCount)
+                .description("아직 테이블에 저장되지 않은 변경 수")
+                .register(registry);
+    }
+
+    private static final class Shard {
+        final ReentrantLock lock = new ReentrantLock();
+        // key -> 토큰 다이제스트 (32 바이트)
+        final Map<String, byte[]> tokens = new HashMap<>();
+        // key -> 새 다이제스트 또는 DELETED, flush 할 때 통째로 교체
+        Map<String, byte[]> dirty = new HashMap<>();
+    }
+}
@@ -1,26 +1,33 @@
 package com.example.demo.service;
 
-import com.example.demo.exceptionhandler.AuthorityExceptionType;
 import com.example.demo.exceptionhandler.BizException;
 import com.example.demo.exceptionhandler.JwtExceptionType;
 import com.example.demo.exceptionhandler.MemberExceptionType;
-import com.example.demo.jwt.CustomEmailPasswordAuthToken;
 import com.example.demo.model.Authority;
 import com.example.demo.model.Member;
 import com.example.demo.model.MemberAuth;
+import com.example.demo.jwt.PasswordVerificationExecutor;
+import com.example.demo.jwt.TokenDenylist;
 import com.example.demo.jwt.TokenProvider;
-import com.example.demo.model.RefreshToken;
+import com.example.demo.jwt.VerifiedToken;
+import com.example.demo.jwt.VerifiedTokenCache;
 import com.example.demo.model.dto.*;
-import com.example.demo.repository.AuthorityRepository;
 import com.example.demo.repository.MemberRepository;
-import com.example.demo.repository.RefreshTokenRepository;
+import com.example.demo.repository.RefreshTokenStore;
+import com.example.demo.repository.RegisteredEmailFilter;
+import com.example.demo.util.TokenDigest;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.sql.SQLException;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -28,57 +35,78 @@ import java.util.Set;
 @Service
 @RequiredArgsConstructor
 public class AuthService {
-    private final AuthenticationManager authenticationManager;
     private final MemberRepository memberRepository;
-    private final AuthorityRepository authorityRepository;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final AuthorityRegistry authorityRegistry;
     private final PasswordEncoder passwordEncoder;
     private final TokenProvider tokenProvider;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
     private final CustomUserDetailsService customUserDetailsService;
+    private final TokenDenylist tokenDenylist;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
 
 
 
+    @Timed(value = "auth.service", extraTags = {"method", "signup"}, histogram = true)
     @Transactional
     public MemberRespDTO signup(MemberReqDTO memberRequestDto) {
-        if (memberRepository.existsByEmail(memberRequestDto.getEmail())) {
+        // 블룸 필터에 없으면 확실히 새 이메일이므로 중복 조회를 건너뜀 (있을 수도 있을 때만 조회)
+        String email = memberRequestDto.getEmail();
+        if (registeredEmailFilter.mightContain(email) && memberRepository.existsByEmail(email)) {
             throw new BizException(MemberExceptionType.DUPLICATE_USER);
         }
 
-        // DB 에서 ROLE_USER를 찾아서 권한으로 추가한다.
-        Authority authority = authorityRepository
-                .findByAuthorityName(MemberAuth.ROLE_USER).orElseThrow(()->new BizException(AuthorityExceptionType.NOT_FOUND_AUTHORITY));
-
+        // 시작할 때 읽어둔 ROLE_USER 를 권한으로 추가한다. (테이블에 없으면 NOT_FOUND_AUTHORITY)
         Set<Authority> set = new HashSet<>();
-        set.add(authority);
+        set.add(authorityRegistry.get(MemberAuth.ROLE_USER));
 
 
         Member member = memberRequestDto.toMember(passwordEncoder,set);
         log.debug("member = {}",member);
-        return MemberRespDTO.of(memberRepository.save(member));
+
+        // 다른 인스턴스에서 가입했거나 동시에 같은 이메일로 가입하면 여기서 email unique 제약에 걸림
+        Member saved;
+        try {
+            saved = memberRepository.saveAndFlush(member);
+        } catch (DataIntegrityViolationException e) {
+            // member 의 unique 제약은 email 뿐이므로 unique 위반만 DUPLICATE_USER (NOT NULL, 길이 초과 등 다른 위반은 그대로 던짐)
+            if (isUniqueViolation(e)) {
+                throw new BizException(MemberExceptionType.DUPLICATE_USER);
+            }
+            throw e;
+        }
+        // 롤백되어도 필터에 남지만 다음 가입 때 조회 한 번 더 할 뿐
+        registeredEmailFilter.put(email);
+        return MemberRespDTO.of(saved);
     }
 
-    @Transactional
+    /**
+     * 로그인 : 트랜잭션을 걸지 않고 세 단계로 나눠서 BCrypt 동안 DB 커넥션을 잡고 있지 않도록 함
+     * 1. 멤버와 권한 이름을 한 번의 쿼리, 짧은 읽기 전용 트랜잭션으로 조회 (MemberAuthDTO)
+     * 2. 비밀번호 검증 (커넥션 없이, PasswordVerificationExecutor)
+     *    AuthenticationManager 를 거치면 provider 가 이메일로 멤버를 다시 조회하므로 1 에서 읽은 멤버로 직접 검증
+     * 3. 리프레시 토큰 저장 (RefreshTokenStore 의 짧은 쓰기 트랜잭션)
+     */
+    @Timed(value = "auth.service", extraTags = {"method", "login"}, histogram = true)
     public TokenDTO login(LoginReqDTO loginReqDTO) {
-        CustomEmailPasswordAuthToken customEmailPasswordAuthToken = new CustomEmailPasswordAuthToken(loginReqDTO.getEmail(),loginReqDTO.getPassword());
-        Authentication authenticate = authenticationManager.authenticate(customEmailPasswordAuthToken);
-        String email = authenticate.getName();
-        Member member = customUserDetailsService.getMember(email);
+        MemberAuthDTO memberAuth = customUserDetailsService.getMemberAuth(loginReqDTO.getEmail());
 
-        String accessToken = tokenProvider.createAccessToken(email, member.getAuthorities());
-        String refreshToken = tokenProvider.createRefreshToken(email, member.getAuthorities());
+        checkPassword(loginReqDTO.getPassword(), memberAuth.getPassword());
+        String email = memberAuth.getEmail();
+        Member member = memberAuth.toMember(authorityRegistry::get);
+
+        String accessToken = tokenProvider.createAccessToken(member);
+        String refreshToken = tokenProvider.createRefreshToken(member);
 
         //refresh Token 저장
-        refreshTokenRepository.save(
-                RefreshToken.builder()
-                        .key(email)
-                        .value(refreshToken)
-                        .build()
-        );
+        refreshTokenStore.save(email, refreshToken);
 
         return tokenProvider.createTokenDTO(accessToken,refreshToken);
 
     }
 
+    @Timed(value = "auth.service", extraTags = {"method", "reissue"}, histogram = true)
     @Transactional
     public TokenDTO reissue(TokenReqDTO tokenRequestDto) {
         /*
@@ -105,29 +133,76 @@ public class AuthService {
         log.debug("Authentication = {}",authentication);
 
         // 3. 저장소에서 Member Email 를 기반으로 Refresh Token 값 가져옴
-        RefreshToken refreshToken = refreshTokenRepository.findByKey(authentication.getName())
+        byte[] refreshTokenDigest = refreshTokenStore.find(authentication.getName())
                 .orElseThrow(() -> new BizException(MemberExceptionType.LOGOUT_MEMBER)); // 로그 아웃된 사용자
 
 
-        // 4. Refresh Token 일치하는지 검사
-        if (!refreshToken.getValue().equals(originRefreshToken)) {
+        // 4. Refresh Token 일치하는지 검사 (저장된 다이제스트와 상수 시간 비교)
+        if (!TokenDigest.matches(refreshTokenDigest, originRefreshToken)) {
             throw new BizException(JwtExceptionType.BAD_TOKEN); // 토큰이 일치하지 않습니다.
         }
 
-        // 5. 새로운 토큰 생성
-        String email = tokenProvider.getMemberEmailByToken(originAccessToken);
+        // 5. 새로운 토큰 생성 (엑세스 토큰은 2번에서 이미 검증했으므로 다시 파싱하지 않음)
+        String email = authentication.getName();
         Member member = customUserDetailsService.getMember(email);
 
-        String newAccessToken = tokenProvider.createAccessToken(email, member.getAuthorities());
-        String newRefreshToken = tokenProvider.createRefreshToken(email, member.getAuthorities());
+        String newAccessToken = tokenProvider.createAccessToken(member);
+        String newRefreshToken = tokenProvider.createRefreshToken(member);
         TokenDTO tokenDto = tokenProvider.createTokenDTO(newAccessToken, newRefreshToken);
 
         log.debug("refresh Origin = {}",originRefreshToken);
         log.debug("refresh New = {} ",newRefreshToken);
-        // 6. 저장소 정보 업데이트 (dirtyChecking으로 업데이트)
-        refreshToken.updateValue(newRefreshToken);
+        // 6. 저장소 정보 업데이트 (그 사이에 같은 리프레시 토큰으로 먼저 재발급 받았으면 실패)
+        if (!refreshTokenStore.replace(email, originRefreshToken, newRefreshToken)) {
+            throw new BizException(JwtExceptionType.BAD_TOKEN);
+        }
 
         // 토큰 발급
         return tokenDto;
     }
+
+    /**
+     * 로그아웃 : 엑세스 토큰의 jti 를 exp 까지 TokenDenylist 에 등록하고 리프레시 토큰을 삭제
+     * /auth 는 JwtFilter 를 거치지 않으므로 여기서 서명을 검증한다. (만료된 엑세스 토큰으로도 로그아웃 가능)
+     */
+    @Timed(value = "auth.service", extraTags = {"method", "logout"}, histogram = true)
+    @Transactional
+    public void logout(TokenReqDTO tokenRequestDto) {
+        String accessToken = tokenRequestDto.getAccessToken();
+        if (!StringUtils.hasText(accessToken)) {
+            throw new BizException(JwtExceptionType.EMPTY_TOKEN);
+        }
+        VerifiedToken verifiedToken = tokenProvider.parseClaims(accessToken);
+
+        if (verifiedToken.isValid()) {
+            tokenDenylist.revoke(verifiedToken.getTokenId(), verifiedToken.getExpiration(),
+                    () -> verifiedTokenCache.remove(accessToken));
+        }
+
+        String email = tokenProvider.getMemberEmail(verifiedToken);
+        refreshTokenStore.delete(email);
+
+        log.debug("logout = {}", email);
+    }
+
+    // MySQL : SQLState 23000 + 에러 코드 1062 (ER_DUP_ENTRY, 23000 은 NOT NULL 위반 등과 같이 씀), H2 : SQLState 23505
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        if (!(e.getCause() instanceof ConstraintViolationException)) {
+            return false;
+        }
+        SQLException sqlException = ((ConstraintViolationException) e.getCause()).getSQLException();
+        String sqlState = sqlException.getSQLState();
+        return ("23000".equals(sqlState) && sqlException.getErrorCode() == 1062) || "23505".equals(sqlState);
+    }
+
+    // CustomEmailPasswordAuthProvider 와 같이 비밀번호가 없으면 NOT_FOUND_PASSWORD, 틀리면 WRONG_PASSWORD
+    // BCrypt 는 요청 쓰레드가 아닌 전용 쓰레드에서 (바쁘면 LOGIN_BUSY)
+    private void checkPassword(String presentedPassword, String encodedPassword) {
+        if (presentedPassword == null) {
+            throw new BizException(MemberExceptionType.NOT_FOUND_PASSWORD);
+        }
+        if (!passwordVerificationExecutor.matches(presentedPassword, encodedPassword)) {
+            throw new BizException(MemberExceptionType.WRONG_PASSWORD);
+        }
+    }
 }
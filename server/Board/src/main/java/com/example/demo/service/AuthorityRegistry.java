@@ -0,0 +1,90 @@
+package com.example.demo.service;
+
+import com.example.demo.exceptionhandler.AuthorityExceptionType;
+import com.example.demo.exceptionhandler.BizException;
+import com.example.demo.model.Authority;
+import com.example.demo.model.MemberAuth;
+import com.example.demo.repository.AuthorityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * AuthorityRegistry 설명 : authority 테이블 전체를 시작할 때 한 번 읽어서 EnumMap 으로 들고 있는 객체
+ * 권한 테이블은 몇 행 안되고 거의 바뀌지 않으므로 회원가입, 멤버 수정, 초기 데이터에서 매번 조회하거나
+ * new Authority(...) 로 준영속 엔티티를 새로 만들지 않고 여기 있는 인스턴스를 공유한다. (Authority 는 @Immutable)
+ *
+ * - 권한 행을 직접 추가했으면 reload (POST /admin/authorities/reload), 없는 권한을 찾으면 한 번 다시 읽어보고 없으면 NOT_FOUND_AUTHORITY
+ * - 맵은 통째로 바꾸므로 읽을 때는 락이 없음
+ * - 처음 읽는 것은 모든 싱글톤을 만든 뒤 (웹서버가 뜨기 전)
+ *   @PostConstruct 에서 읽으면 리포지토리 메트릭이 MeterRegistry 를 만들면서 MeterBinder 인 TokenProvider 를 찾는데
+ *   TokenProvider 는 CustomUserDetailsService -> 이 객체를 만드는 중이라 순환 참조로 시작하지 못함
+ **/
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthorityRegistry implements SmartInitializingSingleton {
+
+    private final AuthorityRepository authorityRepository;
+
+    private volatile Map<MemberAuth, Authority> authorities = Collections.emptyMap();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /**
+     * @return 다시 읽은 권한 목록
+     */
+    public synchronized Set<MemberAuth> reload() {
+        Map<MemberAuth, Authority> map = new EnumMap<>(MemberAuth.class);
+        for (Authority authority : authorityRepository.findAll()) {
+            map.put(MemberAuth.get(authority.getAuthorityName()), authority);
+        }
+        authorities = Collections.unmodifiableMap(map);
+        log.debug("AuthorityRegistry loaded = {}", map.keySet());
+        return map.keySet();
+    }
+
+    /**
+     * @throws BizException NOT_FOUND_AUTHORITY : 테이블에 없는 권한
+     */
+    public Authority get(MemberAuth memberAuth) {
+        Authority authority = authorities.get(memberAuth);
+        if (authority == null) {
+            authority = reloadAndGet(memberAuth);
+        }
+        return authority;
+    }
+
+    private synchronized Authority reloadAndGet(MemberAuth memberAuth) {
+        Authority authority = authorities.get(memberAuth); // 다른 쓰레드가 먼저 다시 읽었을 수 있음
+        if (authority == null) {
+            reload();
+            authority = authorities.get(memberAuth);
+        }
+        if (authority == null) {
+            throw new BizException(AuthorityExceptionType.NOT_FOUND_AUTHORITY);
+        }
+        return authority;
+    }
+
+    /**
+     * 초기 데이터용 : 테이블에 없는 권한만 추가하고 다시 읽는다.
+     */
+    public synchronized void seed(MemberAuth... memberAuths) {
+        for (MemberAuth memberAuth : memberAuths) {
+            if (!authorities.containsKey(memberAuth)) {
+                authorityRepository.save(new Authority(memberAuth));
+            }
+        }
+        reload();
+    }
+}
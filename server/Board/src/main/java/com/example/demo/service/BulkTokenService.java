@@ -0,0 +1,70 @@
+package com.example.demo.service;
+
+import com.example.demo.exceptionhandler.MemberExceptionType;
+import com.example.demo.jwt.TokenProvider;
+import com.example.demo.model.Member;
+import com.example.demo.model.RefreshToken;
+import com.example.demo.model.dto.MemberTokenDTO;
+import com.example.demo.model.dto.TokenDTO;
+import com.example.demo.repository.MemberRepository;
+import com.example.demo.repository.RefreshTokenStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 테넌트 이전 시 멤버들의 토큰을 한 번에 발급
+ * 로그인 API 를 멤버마다 호출하면 BCrypt 검사까지 매번 하게 되므로
+ * 관리자가 이메일 목록을 넘기면 멤버와 권한을 한 번에 조회하고, 병렬로 서명하고, 리프레시 토큰을 배치로 저장한다.
+ **/
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkTokenService {
+    // 한 번에 조회, 저장하는 이메일 개수 (IN 절, JDBC 배치 크기)
+    public static final int CHUNK_SIZE = 500;
+
+    private final MemberRepository memberRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final TokenProvider tokenProvider;
+
+    /**
+     * @param emails CHUNK_SIZE 이하의 이메일 목록
+     * @return emails 와 같은 순서의 발급 결과 (없는 멤버는 NOT_FOUND_USER)
+     */
+    @Transactional
+    public List<MemberTokenDTO> issueTokens(List<String> emails) {
+        Map<String, Member> membersByEmail = new HashMap<>();
+        for (Member member : memberRepository.findAllWithAuthoritiesByEmailIn(emails)) {
+            membersByEmail.put(member.getEmail(), member);
+        }
+
+        List<Member> members = new ArrayList<>(membersByEmail.values());
+        List<TokenDTO> tokens = tokenProvider.createTokens(members);
+
+        Map<String, TokenDTO> tokensByEmail = new HashMap<>();
+        List<RefreshToken> refreshTokens = new ArrayList<>();
+        for (int i = 0; i < members.size(); i++) {
+            String email = members.get(i).getEmail();
+            tokensByEmail.put(email, tokens.get(i));
+            refreshTokens.add(RefreshToken.of(email, tokens.get(i).getRefreshToken()));
+        }
+        refreshTokenStore.saveAll(refreshTokens);
+
+        List<MemberTokenDTO> result = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            TokenDTO token = tokensByEmail.get(email);
+            result.add(token != null
+                    ? MemberTokenDTO.of(email, token)
+                    : MemberTokenDTO.error(email, MemberExceptionType.NOT_FOUND_USER.getErrorCode()));
+        }
+        log.debug("issueTokens requested = {}, issued = {}", emails.size(), members.size());
+        return result;
+    }
+}
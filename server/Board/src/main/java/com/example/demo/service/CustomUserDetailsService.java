@@ -3,61 +3,65 @@ package com.example.demo.service;
 
 import com.example.demo.exceptionhandler.BizException;
 import com.example.demo.exceptionhandler.MemberExceptionType;
-import com.example.demo.model.Authority;
+import com.example.demo.jwt.GrantedAuthorityRegistry;
+import com.example.demo.jwt.MemberEmailResolver;
 import com.example.demo.model.Member;
-import com.example.demo.repository.MemberRepository;
+import com.example.demo.model.dto.MemberAuthDTO;
+import com.example.demo.repository.MemberCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
-    private final MemberRepository memberRepository;
+public class CustomUserDetailsService implements UserDetailsService, MemberEmailResolver {
+    private final MemberCache memberCache;
+    private final AuthorityRegistry authorityRegistry;
 
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String email) throws BizException {
         log.debug("CustomUserDetailsService -> email = {}",email);
-        return memberRepository.findByEmail(email)
-                .map(this::createUserDetails)
+        return createUserDetails(getMemberAuth(email));
+    }
+
+    /**
+     * 로그인용 : 멤버와 권한 이름을 MemberCache 에서, 없으면 한 번의 쿼리로 조회
+     * (트랜잭션을 걸면 캐시 히트여도 커넥션을 잡으므로 걸지 않음, 조회 쿼리는 리포지토리의 읽기 전용 트랜잭션)
+     */
+    public MemberAuthDTO getMemberAuth(String email) throws BizException {
+        return memberCache.get(email)
                 .orElseThrow(() -> new BizException(MemberExceptionType.NOT_FOUND_USER));
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * @return 토큰 발급용 준영속 멤버
+     */
     public Member getMember(String email) throws BizException {
-        return memberRepository.findByEmail(email)
-                .orElseThrow(()->new BizException(MemberExceptionType.NOT_FOUND_USER));
+        return getMemberAuth(email).toMember(authorityRegistry::get);
     }
 
-    // DB 에 User 값이 존재한다면 UserDetails 객체로 만들어서 리턴
-    private UserDetails createUserDetails(Member member) {
-
-        // Collections<? extends GrantedAuthority>
-        List<SimpleGrantedAuthority> authList = member.getAuthorities()
-                .stream()
-                .map(Authority::getAuthorityName)
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
-
-        authList.forEach(o-> log.debug("authList -> {}",o.getAuthority()));
+    /**
+     * @param memberId compact 토큰의 sub
+     * @return 멤버 이메일, 없는 멤버면 null
+     */
+    @Override
+    public String findEmail(long memberId) {
+        // 필터에서 요청마다 호출되므로 MemberCache 를 거침 (member.cache.max-size, ttl)
+        return memberCache.findEmail(memberId).orElse(null);
+    }
 
-        return new User(
+    // DB 에 User 값이 존재한다면 UserDetails 객체로 만들어서 리턴
+    // 권한 목록은 토큰에서 만들 때와 같이 GrantedAuthorityRegistry 의 공유 컬렉션을 사용
+    public UserDetails createUserDetails(MemberAuthDTO member) {
+        return GrantedAuthorityRegistry.principal(
                 member.getEmail(),
                 member.getPassword(),
-                authList
+                member.getAuthoritiesToString()
         );
     }
 }
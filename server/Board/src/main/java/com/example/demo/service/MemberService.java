@@ -6,6 +6,7 @@ import com.example.demo.exceptionhandler.MemberExceptionType;
 import com.example.demo.model.Member;
 import com.example.demo.model.dto.MemberRespDTO;
 import com.example.demo.model.dto.MemberUpdateDTO;
+import com.example.demo.repository.MemberCache;
 import com.example.demo.repository.MemberRepository;
 import com.example.demo.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
@@ -25,27 +26,27 @@ import javax.persistence.Table;
 @RequiredArgsConstructor
 public class MemberService {
     private final MemberRepository memberRepository;
+    private final MemberCache memberCache;
     private final PasswordEncoder passwordEncoder;
+    private final AuthorityRegistry authorityRegistry;
 
     /**
      *
      * @param email
      * @return email에 해당하는 멤버의 정보를 반환한다.
      */
-    @Transactional(readOnly = true)
     public MemberRespDTO getMemberInfo(String email) {
-        return memberRepository.findByEmail(email)
-                .map(MemberRespDTO::of)
+        return memberCache.get(email)
+                .map(member -> new MemberRespDTO(member.getEmail()))
                 .orElseThrow(()-> new BizException(MemberExceptionType.NOT_FOUND_USER)); // 유저를 찾을 수 없습니다.
     }
 
     /**
      * @return 현재 securityContext에 있는 유저 정보를 반환한다.
      */
-    @Transactional(readOnly = true)
     public MemberRespDTO getMyInfo() {
-        return memberRepository.findByEmail(SecurityUtil.getCurrentMemberEmail())
-                .map(MemberRespDTO::of)
+        return memberCache.get(SecurityUtil.getCurrentMemberEmail())
+                .map(member -> new MemberRespDTO(member.getEmail()))
                 .orElseThrow(()->new BizException(MemberExceptionType.NOT_FOUND_USER));
     }
 
@@ -57,11 +58,12 @@ public class MemberService {
      */
     @Transactional
     public void updateMemberInfo(MemberUpdateDTO dto) {
+        // 권한을 바꿀 수 있으므로 권한까지 한 번에 조회
         Member member = memberRepository
-                .findByEmail(dto.getEmail())
+                .findWithAuthoritiesByEmail(dto.getEmail())
                 .orElseThrow(() -> new BizException(MemberExceptionType.NOT_FOUND_USER));
 
-        member.updateMember(dto,passwordEncoder);
+        member.updateMember(dto,passwordEncoder,authorityRegistry::get);
     }
 
 }
@@ -0,0 +1,79 @@
+package com.example.demo.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * BloomFilter 설명 : 락 없이 쓰고 읽을 수 있는 블록 블룸 필터 (문자열 키)
+ * 해시로 64바이트 블록(long 8개 = 캐시 라인 하나)을 고르고 그 블록 안에서만 비트 K 개를 세팅/검사
+ * 그래서 mightContain 은 항상 캐시 라인 하나만 읽는다.
+ *
+ * false 면 절대 없는 키, true 면 있을 수도 있는 키 (원본 저장소에서 다시 확인해야 함)
+ * 삭제는 지원하지 않으므로 지워야 할 키가 많아지면 새로 만들어서 교체
+ **/
+public final class BloomFilter {
+
+    private static final int BLOCK_LONGS = 8;           // 512bit = 64byte
+    private static final int BLOCK_BITS = BLOCK_LONGS * 64;
+    private static final int K = 6;                     // 블록 안에서 세팅하는 비트 수
+
+    private final AtomicLongArray bits;
+    private final int blockMask;
+
+    /**
+     * @param expectedKeys 예상 키 개수, 키 하나당 16bit 정도를 잡아서 블록 수를 2의 제곱으로 맞춤
+     */
+    public BloomFilter(int expectedKeys) {
+        long wantedBlocks = Math.max(1L, (long) expectedKeys * 16 / BLOCK_BITS);
+        int blocks = Integer.highestOneBit((int) Math.min(1 << 24, wantedBlocks));
+        if (blocks < wantedBlocks && blocks < (1 << 24)) {
+            blocks <<= 1;
+        }
+        this.bits = new AtomicLongArray(blocks * BLOCK_LONGS);
+        this.blockMask = blocks - 1;
+    }
+
+    public void put(String key) {
+        long hash = hash(key);
+        int base = block(hash);
+        int h = (int) hash;
+        for (int i = 0; i < K; i++) {
+            int bit = h & (BLOCK_BITS - 1);
+            int index = base + (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(index);
+            while ((current & mask) == 0 && !bits.compareAndSet(index, current, current | mask)) {
+                current = bits.get(index);
+            }
+            h = Integer.rotateRight(h, 9) * 0x9E3779B1;
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        int base = block(hash);
+        int h = (int) hash;
+        for (int i = 0; i < K; i++) {
+            int bit = h & (BLOCK_BITS - 1);
+            if ((bits.get(base + (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            h = Integer.rotateRight(h, 9) * 0x9E3779B1;
+        }
+        return true;
+    }
+
+    private int block(long hash) {
+        return ((int) (hash >>> 32) & blockMask) * BLOCK_LONGS;
+    }
+
+    // String.hashCode 는 32bit 라 블록 선택과 비트 선택에 같이 쓰면 충돌이 많으므로 문자 단위로 64bit 해시를 계산
+    private static long hash(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        return h ^ (h >>> 33);
+    }
+}
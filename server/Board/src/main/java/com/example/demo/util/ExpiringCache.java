@@ -0,0 +1,133 @@
+package com.example.demo.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * ExpiringCache 설명 : 엔트리마다 만료 시각이 있고 개수가 제한된 캐시 (VerifiedTokenCache, MemberCache 가 공유)
+ *
+ * - 만료 시각이 지난 엔트리는 get 할 때 지우고 miss 로 센다.
+ * - 가득 차면 만료된 엔트리를 먼저 지우고 그래도 넘치면 임의의 엔트리를 1/8 정도 비움
+ *   동시에 여러 쓰레드가 비우지 않도록 한 쓰레드만 들어오고 나머지는 그냥 저장 (잠깐 넘치는 건 허용, 다음 put 에서 다시 줄어듦)
+ * - 락이 없으므로 get, put 은 ConcurrentHashMap 한 번씩
+ **/
+public final class ExpiringCache<K, V> {
+
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringCache(int maxEntries) {
+        this(maxEntries, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock 현재 시각 (epoch millis), 테스트에서 바꿔 끼움
+     */
+    public ExpiringCache(int maxEntries, LongSupplier clock) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.clock = clock;
+    }
+
+    /**
+     * @return 있고 아직 만료되지 않았으면 값, 아니면 null
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiration <= clock.getAsLong()) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * @param expiration 만료 시각 (epoch millis)
+     */
+    public void put(K key, V value, long expiration) {
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(key, new Entry<>(value, expiration));
+    }
+
+    /**
+     * @return 지운 엔트리가 있으면 true (evictions 에는 세지 않음)
+     */
+    public boolean remove(K key) {
+        return entries.remove(key) != null;
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = clock.getAsLong();
+            Iterator<Entry<V>> it = entries.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().expiration <= now) {
+                    it.remove();
+                    evictions.increment();
+                }
+            }
+            int target = maxEntries - Math.max(1, maxEntries / 8);
+            it = entries.values().iterator();
+            while (entries.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiration;
+
+        private Entry(V value, long expiration) {
+            this.value = value;
+            this.expiration = expiration;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * RateLimiter 설명 : 키(IP, 이메일 ..)마다 토큰 버킷으로 요청 수를 제한
+ * 버킷 하나를 AtomicLong 하나로 표현하는 GCRA 방식 -> 다음 요청이 "이론적으로" 도착해야 하는 시간(tat)만 저장
+ * 허용 여부는 CAS 한 번으로 결정되므로 락이 없고, 허용된 요청은 맵 조회 + CAS 만 한다.
+ *
+ * 키가 많아져도 경합이 없도록 STRIPES 개의 맵으로 나누고
+ * 각 맵은 SWEEP_INTERVAL 마다 접근한 쓰레드 하나가 오래 쓰이지 않은(버킷이 다 찬) 키를 지운다.
+ **/
+public final class RateLimiter {
+
+    private static final int STRIPES = 16;
+    private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+
+    // 허용이면 0, 거절이면 다시 시도할 수 있을 때까지 남은 시간(ns) 을 리턴
+    public static final long ALLOWED = 0L;
+
+    private final long emissionInterval; // 토큰 하나가 채워지는 시간 (ns)
+    private final long burstTolerance;   // capacity 만큼 한 번에 보낼 수 있도록 허용하는 시간 (ns)
+    private final long idleTimeout;      // 이 시간 동안 요청이 없던 키는 지움 (ns)
+    private final LongSupplier nanoClock;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    /**
+     * @param capacity        버킷 크기 (연속으로 보낼 수 있는 요청 수)
+     * @param refillPerSecond 초당 채워지는 요청 수
+     * @param idleTimeoutMillis 요청이 없는 키를 지우기까지의 시간
+     */
+    public RateLimiter(int capacity, double refillPerSecond, long idleTimeoutMillis) {
+        this(capacity, refillPerSecond, idleTimeoutMillis, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock 현재 시각 (System.nanoTime 과 같은 단위), 테스트에서 바꿔 끼움
+     */
+    public RateLimiter(int capacity, double refillPerSecond, long idleTimeoutMillis, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity 와 refillPerSecond 는 0 보다 커야 합니다.");
+        }
+        this.emissionInterval = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.burstTolerance = emissionInterval * (capacity - 1);
+        this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(now);
+        }
+    }
+
+    /**
+     * @return ALLOWED(0) 이면 허용, 아니면 다시 시도할 수 있을 때까지 남은 시간 (ns)
+     */
+    public long acquire(String key) {
+        long now = nanoClock.getAsLong();
+        Stripe stripe = stripes[spread(key.hashCode()) & (STRIPES - 1)];
+
+        AtomicLong bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            bucket = stripe.buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            stripe.sweepIfNeeded(now, idleTimeout);
+        }
+
+        while (true) {
+            long tat = bucket.get();
+            long base = Math.max(tat, now);
+            long allowAt = base - burstTolerance;
+            if (now < allowAt) {
+                return allowAt - now;
+            }
+            if (bucket.compareAndSet(tat, base + emissionInterval)) {
+                return ALLOWED;
+            }
+        }
+    }
+
+    /**
+     * @param waitNanos acquire 가 리턴한 남은 시간
+     * @return Retry-After 헤더에 쓸 초, 올림해서 최소 1초 (그 전에 다시 보내면 또 거절되므로)
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        return Math.max(1, (waitNanos + second - 1) / second);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Stripe {
+        private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong lastSweep;
+
+        private Stripe(long now) {
+            this.lastSweep = new AtomicLong(now);
+        }
+
+        // tat 가 idleTimeout 보다 오래 전이면 버킷이 가득 찬 상태이므로 지워도 결과가 같음
+        private void sweepIfNeeded(long now, long idleTimeout) {
+            long last = lastSweep.get();
+            if (now - last < SWEEP_INTERVAL || !lastSweep.compareAndSet(last, now)) {
+                return;
+            }
+            Iterator<AtomicLong> it = buckets.values().iterator();
+            while (it.hasNext()) {
+                if (now - it.next().get() > idleTimeout) {
+                    it.remove();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ServerTiming 설명 : 요청 하나의 단계별 소요 시간을 모아서 Server-Timing 헤더 값으로 만든다.
+ * server-timing.enabled 일 때만 ServerTimingFilter 가 요청마다 start/clear 하고
+ * 필터, TokenProvider, 리포지토리 등 각 계층은 add 로 자기 단계의 시간(ns)을 더한다.
+ * 요청 쓰레드에 하나만 있으므로 배열에 더하기만 하고, 꺼져있으면 add 는 ThreadLocal 조회 한 번으로 끝난다.
+ *
+ * controller 는 서비스와 DB 시간을 포함 (단계끼리 겹칠 수 있음)
+ **/
+public final class ServerTiming {
+
+    public enum Phase {
+        RESOLVE("resolve"),         // 헤더에서 토큰 추출, 사전 검사
+        VERIFY("verify"),           // 서명 검증
+        AUTH("auth"),               // Authentication 생성
+        CONTROLLER("ctrl"),         // 핸들러 시작 ~ 응답 직렬화 시작
+        DB("db"),                   // 리포지토리 호출
+        SERIALIZATION("ser");       // 응답 직렬화
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long start = System.nanoTime();
+    private final long[] durations = new long[Phase.values().length];
+    private final int[] counts = new int[Phase.values().length];
+
+    // 컨트롤러 시작, 직렬화 시작 시점 (0 이면 아직 없음)
+    private long controllerStart;
+    private long serializationStart;
+
+    private ServerTiming() { }
+
+    public static ServerTiming start() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * 비동기 응답처럼 다른 쓰레드에서 이어서 기록할 때 사용
+     */
+    public static void resume(ServerTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    /**
+     * @return 현재 요청의 ServerTiming, 꺼져있으면 null
+     */
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 현재 요청에 단계 시간을 더한다. (꺼져있으면 아무것도 안함)
+     */
+    public static void add(Phase phase, long nanos) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.durations[phase.ordinal()] += nanos;
+            timing.counts[phase.ordinal()]++;
+        }
+    }
+
+    public static void markControllerStart() {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null && timing.controllerStart == 0) {
+            timing.controllerStart = System.nanoTime();
+        }
+    }
+
+    public static void markSerializationStart() {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null && timing.serializationStart == 0) {
+            timing.serializationStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * @return ex) resolve;dur=0.012, verify;dur=0.215, ..., total;dur=12.400 (ms)
+     */
+    public String toHeaderValue() {
+        long end = System.nanoTime();
+        if (controllerStart != 0) {
+            long controllerEnd = serializationStart != 0 ? serializationStart : end;
+            durations[Phase.CONTROLLER.ordinal()] = controllerEnd - controllerStart;
+            counts[Phase.CONTROLLER.ordinal()] = 1;
+        }
+        if (serializationStart != 0) {
+            durations[Phase.SERIALIZATION.ordinal()] = end - serializationStart;
+            counts[Phase.SERIALIZATION.ordinal()] = 1;
+        }
+
+        StringBuilder builder = new StringBuilder(128);
+        for (Phase phase : Phase.values()) {
+            if (counts[phase.ordinal()] == 0) {
+                continue;
+            }
+            appendMetric(builder, phase.metricName, durations[phase.ordinal()]);
+        }
+        appendMetric(builder, "total", end - start);
+        return builder.toString();
+    }
+
+    private static void appendMetric(StringBuilder builder, String name, long nanos) {
+        if (builder.length() > 0) {
+            builder.append(", ");
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        builder.append(name).append(";dur=").append(micros / 1000).append('.');
+        long fraction = micros % 1000;
+        if (fraction < 100) builder.append('0');
+        if (fraction < 10) builder.append('0');
+        builder.append(fraction);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * TokenDigest 설명 : 리프레시 토큰을 저장할 때 토큰 문자열 대신 SHA-256 다이제스트(32 바이트)를 사용
+ * 수백 바이트짜리 JWT 대신 고정 길이 값을 저장하므로 행과 인덱스가 작아지고,
+ * 테이블이 유출되어도 다이제스트로는 토큰을 다시 만들 수 없다.
+ * 비교는 MessageDigest.isEqual 로 해서 일치하는 앞부분 길이에 따라 시간이 달라지지 않도록 함
+ **/
+public final class TokenDigest {
+
+    public static final int LENGTH = 32;
+
+    private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal.withInitial(TokenDigest::newDigest);
+    private static final MessageDigest PROTOTYPE = newDigest();
+
+    private TokenDigest() { }
+
+    /**
+     * @return 토큰의 SHA-256 다이제스트 (JWT 는 ASCII 문자만 사용)
+     */
+    public static byte[] of(String token) {
+        return digest().digest(token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return 저장된 다이제스트와 토큰의 다이제스트가 같으면 true (상수 시간 비교)
+     */
+    public static boolean matches(byte[] digest, String token) {
+        return digest != null && token != null && MessageDigest.isEqual(digest, of(token));
+    }
+
+    // 가상 쓰레드는 요청마다 새로 생기므로 ThreadLocal 대신 원본을 복제 (VerifiedTokenCache 와 같음)
+    private static MessageDigest digest() {
+        if (!VirtualThreads.isVirtual()) {
+            return DIGESTS.get();
+        }
+        try {
+            return (MessageDigest) PROTOTYPE.clone();
+        } catch (CloneNotSupportedException e) {
+            return newDigest();
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * VirtualThreads 설명 : JDK 21 의 가상 쓰레드를 Java 11 로 컴파일되는 코드에서 사용하기 위한 도우미
+ * 기본 빌드(sourceCompatibility 11)에는 Thread.ofVirtual() 이 없으므로 리플렉션으로 한 번만 찾아둔다.
+ *
+ * 가상 쓰레드는 작업마다 새로 만들어지므로 ThreadLocal 에 캐시한 객체(Mac, MessageDigest, 버퍼)는 재사용되지 않음
+ * -> isVirtual() 로 구분해서 가상 쓰레드에서는 ThreadLocal 을 건너뛴다.
+ **/
+public final class VirtualThreads {
+
+    // JDK 21 미만이면 null
+    private static final Class<?> VIRTUAL_THREAD_CLASS = findClass("java.lang.VirtualThread");
+
+    private VirtualThreads() { }
+
+    public static boolean isSupported() {
+        return VIRTUAL_THREAD_CLASS != null;
+    }
+
+    /**
+     * @return 현재 쓰레드가 가상 쓰레드이면 true (VirtualThread 는 final 클래스이므로 getClass 비교로 충분)
+     */
+    public static boolean isVirtual() {
+        return VIRTUAL_THREAD_CLASS != null && Thread.currentThread().getClass() == VIRTUAL_THREAD_CLASS;
+    }
+
+    /**
+     * @param namePrefix 쓰레드 이름 접두사, 뒤에 0 부터 번호가 붙음 (ex. http-vt-0)
+     * @return 작업마다 가상 쓰레드를 하나씩 만드는 Executor (Executors.newThreadPerTaskExecutor)
+     * @throws IllegalStateException JDK 21 미만에서 실행한 경우
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("가상 쓰레드는 JDK 21 이상에서만 사용할 수 있습니다. (현재 "
+                    + System.getProperty("java.version") + ")");
+        }
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+            Method newExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newExecutor.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 쓰레드 Executor 를 만들 수 없습니다.", e);
+        }
+    }
+
+    private static Class<?> findClass(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+}
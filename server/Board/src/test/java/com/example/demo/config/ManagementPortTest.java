@@ -0,0 +1,59 @@
+package com.example.demo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 관리 포트의 actuator 는 토큰 없이 수집 가능, 서비스 포트에서는 actuator 를 받지 않음
+ * local 프로필(H2)로 실제 포트를 띄워서 실행 (관리 포트는 임의 포트, 테스트에서는 꺼지는 prometheus 를 켬)
+ **/
+@AutoConfigureMetrics
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+@ActiveProfiles("local")
+class ManagementPortTest {
+
+    @LocalServerPort
+    int serverPort;
+
+    @LocalManagementPort
+    int managementPort;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    void prometheusIsScrapedWithoutTokenOnManagementPort() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains("auth_jwt_filter");
+    }
+
+    @Test
+    void healthIsOpenOnManagementPort() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/health", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void actuatorIsNotServedOnServerPort() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + serverPort + "/actuator/prometheus", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN); // JwtFilter : 토큰 없음
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.exceptionhandler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ErrorResponseWriter : 필터 거절 응답은 예전 {"error","message"} 바디, 그 외는 {"code","message"} 바디
+ **/
+class ErrorResponseWriterTest {
+
+    private final ErrorResponseWriter writer = new ErrorResponseWriter(new ObjectMapper());
+
+    @Test
+    void filterRejectionsKeepLegacyBodies() throws Exception {
+        assertThat(filterBody(JwtExceptionType.EMPTY_TOKEN))
+                .isEqualTo("{\"error\": \"EMPTY_TOKEN\", \"message\" : \"토큰 값이 비어있습니다.\"}");
+        assertThat(filterBody(JwtExceptionType.BAD_TOKEN))
+                .isEqualTo("{\"error\": \"BAD_TOKEN\", \"message\" : \"잘못된 토큰 값입니다.\"}");
+        assertThat(filterBody(JwtExceptionType.ACCESS_TOKEN_EXPIRED))
+                .isEqualTo("{\"error\": \"ACCESS_TOKEN_EXPIRED\", \"message\" : \"엑세스토큰이 만료되었습니다.\"}");
+    }
+
+    @Test
+    void otherFilterRejectionsUseLegacyShape() throws Exception {
+        assertThat(filterBody(JwtExceptionType.REVOKED_TOKEN))
+                .isEqualTo("{\"error\":\"REVOKED_TOKEN\",\"message\":\"로그아웃 등으로 폐기된 토큰입니다.\"}");
+    }
+
+    @Test
+    void filterRejectionIs403WithContentLength() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.writeFilterRejection(response, JwtExceptionType.BAD_TOKEN);
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(response.getContentType()).startsWith("application/json");
+        assertThat(response.getContentLength()).isEqualTo(response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void handlerBodiesUseCodeAndMessage() {
+        assertThat(new String(writer.body(JwtExceptionType.BAD_TOKEN), StandardCharsets.UTF_8))
+                .isEqualTo("{\"code\":\"BAD_TOKEN\",\"message\":\"잘못된 토큰 값입니다.\"}");
+    }
+
+    private String filterBody(BaseExceptionType type) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        writer.writeFilterRejection(response, type);
+        return response.getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.jwt;
+
+import com.example.demo.exceptionhandler.BizException;
+import com.example.demo.exceptionhandler.MemberExceptionType;
+import com.example.demo.service.CustomUserDetailsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CustomEmailPasswordAuthProvider : principal 로 넘어온 UserDetails 가 아닌 저장된 멤버의 비밀번호로 검증
+ **/
+class CustomEmailPasswordAuthProviderTest {
+
+    private static final String EMAIL = "user@user.com";
+
+    private final PasswordVerificationExecutor passwordVerificationExecutor = mock(PasswordVerificationExecutor.class);
+    private final CustomUserDetailsService customUserDetailsService = mock(CustomUserDetailsService.class);
+    private final CustomEmailPasswordAuthProvider provider =
+            new CustomEmailPasswordAuthProvider(passwordVerificationExecutor, customUserDetailsService);
+
+    @Test
+    void verifiesAgainstStoredPasswordEvenIfPrincipalIsUserDetails() {
+        when(customUserDetailsService.loadUserByUsername(EMAIL))
+                .thenReturn(GrantedAuthorityRegistry.principal(EMAIL, "stored-hash", "ROLE_USER"));
+        when(passwordVerificationExecutor.matches("1234", "stored-hash")).thenReturn(true);
+        MemberPrincipal forged = GrantedAuthorityRegistry.principal(EMAIL, "forged-hash", "ROLE_ADMIN");
+
+        Authentication result = provider.authenticate(new CustomEmailPasswordAuthToken(forged, "1234"));
+
+        assertThat(result.isAuthenticated()).isTrue();
+        assertThat(result.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        verify(passwordVerificationExecutor, never()).matches(anyString(), eq("forged-hash"));
+    }
+
+    @Test
+    void rejectsWrongPassword() {
+        when(customUserDetailsService.loadUserByUsername(EMAIL))
+                .thenReturn(GrantedAuthorityRegistry.principal(EMAIL, "stored-hash", "ROLE_USER"));
+        when(passwordVerificationExecutor.matches("wrong", "stored-hash")).thenReturn(false);
+
+        assertThatThrownBy(() -> provider.authenticate(new CustomEmailPasswordAuthToken(EMAIL, "wrong")))
+                .isInstanceOfSatisfying(BizException.class,
+                        e -> assertThat(e.getBaseExceptionType()).isEqualTo(MemberExceptionType.WRONG_PASSWORD));
+    }
+
+    @Test
+    void supportsOnlyEmailPasswordToken() {
+        assertThat(provider.supports(CustomEmailPasswordAuthToken.class)).isTrue();
+        assertThat(provider.supports(UsernamePasswordAuthenticationToken.class)).isFalse();
+    }
+}
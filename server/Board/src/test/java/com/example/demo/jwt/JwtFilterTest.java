@@ -0,0 +1,87 @@
+package com.example.demo.jwt;
+
+import com.example.demo.exceptionhandler.ErrorResponseWriter;
+import com.example.demo.model.Authority;
+import com.example.demo.model.MemberAuth;
+import com.example.demo.repository.RevokedTokenRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * JwtFilter : 캐시 히트여도 폐기 목록을 확인
+ * 폐기 여부를 확인한 뒤 캐시에 넣기 전에 로그아웃되면 폐기된 토큰이 캐시에 남는데, 다음 요청에서 거절해야 함
+ **/
+class JwtFilterTest {
+
+    private final TokenProvider tokenProvider =
+            new TokenProvider(TokenVerifierConformanceTest.SECRET, 60_000, 120_000, "jjwt", false, memberId -> null);
+    private final TokenDenylist tokenDenylist = new TokenDenylist(mock(RevokedTokenRepository.class), 1_000);
+
+    // true 면 put 직전에 토큰을 폐기 (검증, 폐기 확인 -> 로그아웃 커밋 -> put 순서)
+    private boolean revokeBeforePut;
+
+    private final VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(true, DataSize.ofMegabytes(1)) {
+        @Override
+        public void put(String token, VerifiedToken verifiedToken, Authentication authentication) {
+            if (revokeBeforePut) {
+                tokenDenylist.revoke(verifiedToken.getTokenId(), verifiedToken.getExpiration(), () -> remove(token));
+            }
+            super.put(token, verifiedToken, authentication);
+        }
+    };
+
+    private final JwtFilter jwtFilter = new JwtFilter(tokenProvider, verifiedTokenCache,
+            new ErrorResponseWriter(new ObjectMapper()), tokenDenylist, new AuthMetrics());
+
+    private final String token = tokenProvider.createAccessToken("user@user.com",
+            Collections.singleton(new Authority(MemberAuth.ROLE_USER)));
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cachedTokenPasses() throws Exception {
+        assertThat(filter().getStatus()).isEqualTo(200);
+        assertThat(filter().getStatus()).isEqualTo(200);
+        assertThat(verifiedTokenCache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void tokenRevokedBeforePutIsRejectedFromCache() throws Exception {
+        revokeBeforePut = true;
+        assertThat(filter().getStatus()).isEqualTo(200); // 폐기 전에 확인한 요청은 통과
+        revokeBeforePut = false;
+        assertThat(verifiedTokenCache.size()).isEqualTo(1); // 폐기된 토큰이 캐시에 남음
+
+        MockHttpServletResponse response = filter();
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).contains("REVOKED_TOKEN");
+        assertThat(verifiedTokenCache.size()).isZero();
+    }
+
+    private MockHttpServletResponse filter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/member");
+        request.setServletPath("/member");
+        request.addHeader(JwtFilter.AUTHORIZATION_HEADER, JwtFilter.BEARER_PREFIX + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        jwtFilter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+}
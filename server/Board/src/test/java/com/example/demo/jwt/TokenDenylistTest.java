@@ -0,0 +1,145 @@
+package com.example.demo.jwt;
+
+import com.example.demo.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * TokenDenylist : 커밋된 뒤에만 메모리에 반영, 블룸 필터를 다시 만들어 교체하는 도중에도 폐기된 토큰을 놓치지 않음
+ **/
+class TokenDenylistTest {
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    private final AtomicInteger onRevoked = new AtomicInteger();
+
+    private TokenDenylist denylist;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findAllByExpirationGreaterThan(anyLong())).thenReturn(Collections.emptyList());
+        denylist = new TokenDenylist(repository, 1_000);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void revokesImmediatelyOutsideTransaction() {
+        denylist.revoke("jti", future(), onRevoked::incrementAndGet);
+
+        assertThat(denylist.isRevoked("jti")).isTrue();
+        assertThat(denylist.isRevoked("other")).isFalse();
+        assertThat(onRevoked).hasValue(1);
+    }
+
+    @Test
+    void revokesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        denylist.revoke("jti", future(), onRevoked::incrementAndGet);
+        assertThat(denylist.isRevoked("jti")).isFalse();
+        assertThat(onRevoked).hasValue(0);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(denylist.isRevoked("jti")).isTrue();
+        assertThat(onRevoked).hasValue(1);
+    }
+
+    @Test
+    void rolledBackRevokeIsNotApplied() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        denylist.revoke("jti", future(), onRevoked::incrementAndGet);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(denylist.isRevoked("jti")).isFalse();
+        assertThat(denylist.size()).isZero();
+        assertThat(onRevoked).hasValue(0);
+    }
+
+    @Test
+    void ignoresMissingOrExpiredTokens() {
+        denylist.revoke(null, future(), onRevoked::incrementAndGet);
+        denylist.revoke("expired", System.currentTimeMillis() - 1, onRevoked::incrementAndGet);
+
+        assertThat(denylist.size()).isZero();
+        assertThat(onRevoked).hasValue(0);
+    }
+
+    // 한 쓰레드가 계속 블룸 필터를 다시 만들어 교체하는 동안 폐기한 토큰은 폐기한 쓰레드에서 바로, 끝난 뒤에도 항상 거절
+    @Test
+    void revokedTokensSurviveConcurrentRebuilds() throws Exception {
+        int threads = 4;
+        int perThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Future<Integer> rebuilder = executor.submit(() -> {
+            start.await();
+            int rebuilds = 0;
+            while (running.get()) {
+                denylist.load();
+                rebuilds++;
+            }
+            return rebuilds;
+        });
+        List<Future<Integer>> revokers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            revokers.add(executor.submit(() -> {
+                start.await();
+                int missed = 0;
+                for (int i = 0; i < perThread; i++) {
+                    String jti = thread + "-" + i;
+                    denylist.revoke(jti, future(), () -> { });
+                    if (!denylist.isRevoked(jti)) {
+                        missed++;
+                    }
+                }
+                return missed;
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> revoker : revokers) {
+            assertThat(revoker.get(30, TimeUnit.SECONDS)).isZero();
+        }
+        running.set(false);
+        assertThat(rebuilder.get(30, TimeUnit.SECONDS)).isPositive();
+        executor.shutdown();
+
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < perThread; i++) {
+                assertThat(denylist.isRevoked(t + "-" + i)).isTrue();
+            }
+        }
+    }
+
+    private static long future() {
+        return System.currentTimeMillis() + 60_000;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.demo.jwt;
+
+import com.example.demo.model.Authority;
+import com.example.demo.model.MemberAuth;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TokenPreCheck : 서명 검증 전 구조 검사와 exp 검사, TokenProvider.verify 의 사전 검사 경로
+ **/
+class TokenPreCheckTest {
+
+    private static final String SIGNATURE = "A".repeat(TokenPreCheck.SIGNATURE_LENGTH);
+    private static final String HEADER = base64("{\"alg\":\"HS512\"}");
+    private static final String PAYLOAD = base64("{\"sub\":\"user@user.com\",\"auth\":\"ROLE_USER\",\"exp\":4102444800}");
+
+    private final TokenProvider tokenProvider =
+            new TokenProvider(TokenVerifierConformanceTest.SECRET, 60_000, 120_000, "jjwt", false, memberId -> null);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"alg\":\"HS512\"}", "{\"typ\":\"JWT\",\"alg\":\"HS512\"}", "{\"alg\":\"HS512\",\"typ\":\"JWT\"}"})
+    void acceptsKnownHs512Headers(String header) {
+        String token = base64(header) + "." + PAYLOAD + "." + SIGNATURE;
+
+        assertThat(TokenPreCheck.isWellFormed(token, 0)).isTrue();
+        assertThat(TokenPreCheck.isWellFormed(JwtFilter.BEARER_PREFIX + token, JwtFilter.BEARER_PREFIX.length())).isTrue();
+    }
+
+    @Test
+    void acceptsIssuedToken() {
+        String token = tokenProvider.createAccessToken("user@user.com", Collections.singleton(new Authority(MemberAuth.ROLE_USER)));
+
+        assertThat(TokenPreCheck.isWellFormed(token, 0)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"alg\":\"HS256\"}", "{\"alg\":\"none\"}", "{\"alg\": \"HS512\"}", "{\"alg\":\"HS512\",\"zip\":\"DEF\"}"})
+    void rejectsOtherHeaders(String header) {
+        assertThat(TokenPreCheck.isWellFormed(base64(header) + "." + PAYLOAD + "." + SIGNATURE, 0)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"+", "/", "=", " ", "한", "\u0000"})
+    void rejectsNonBase64UrlCharacters(String c) {
+        String payload = PAYLOAD.substring(0, 4) + c + PAYLOAD.substring(4);
+
+        assertThat(TokenPreCheck.isWellFormed(HEADER + "." + payload + "." + SIGNATURE, 0)).isFalse();
+    }
+
+    @Test
+    void rejectsWrongSegmentCount() {
+        assertThat(TokenPreCheck.isWellFormed(HEADER + "." + PAYLOAD, 0)).isFalse();
+        assertThat(TokenPreCheck.isWellFormed(HEADER + "." + PAYLOAD + "." + SIGNATURE + "." + SIGNATURE, 0)).isFalse();
+        assertThat(TokenPreCheck.isWellFormed(HEADER + ".." + SIGNATURE, 0)).isFalse();
+        assertThat(TokenPreCheck.isWellFormed("." + PAYLOAD + "." + SIGNATURE, 0)).isFalse();
+        assertThat(TokenPreCheck.isWellFormed(HEADER + "." + PAYLOAD + ".", 0)).isFalse();
+    }
+
+    @Test
+    void rejectsWrongSignatureLengthAndOversizedTokens() {
+        assertThat(TokenPreCheck.isWellFormed(HEADER + "." + PAYLOAD + "." + SIGNATURE.substring(1), 0)).isFalse();
+        assertThat(TokenPreCheck.isWellFormed(HEADER + "." + PAYLOAD + "." + SIGNATURE + "A", 0)).isFalse();
+
+        String huge = HEADER + "." + "A".repeat(TokenPreCheck.MAX_TOKEN_LENGTH) + "." + SIGNATURE;
+        assertThat(TokenPreCheck.isWellFormed(huge, 0)).isFalse();
+        assertThat(TokenPreCheck.isWellFormed(JwtFilter.BEARER_PREFIX, JwtFilter.BEARER_PREFIX.length())).isFalse();
+    }
+
+    @Test
+    void readsOnlyTopLevelExp() {
+        long now = 2_000_000_000_000L; // 초로 2_000_000_000
+
+        assertThat(TokenPreCheck.isExpired(token("{\"exp\":1999999999}"), now)).isTrue();
+        assertThat(TokenPreCheck.isExpired(token("{\"sub\":\"a\",\"exp\": 2000000000}"), now)).isFalse();
+        assertThat(TokenPreCheck.isExpired(token("{\"exp\":2000000001}"), now)).isFalse();
+        // exp 가 없거나, 중첩 객체 안에 있거나, 문자열 안에 있거나, 정수가 아니면 만료로 판단하지 않음
+        assertThat(TokenPreCheck.isExpired(token("{\"sub\":\"a\"}"), now)).isFalse();
+        assertThat(TokenPreCheck.isExpired(token("{\"x\":{\"exp\":1}}"), now)).isFalse();
+        assertThat(TokenPreCheck.isExpired(token("{\"x\":\"\\\"exp\\\":1\"}"), now)).isFalse();
+        assertThat(TokenPreCheck.isExpired(token("{\"exp\":\"1\"}"), now)).isFalse();
+        assertThat(TokenPreCheck.isExpired(token("{\"exp\":1.5}"), now)).isFalse();
+        // 밀리초로 바꾸면 long 을 넘는 값은 서명 검증 단계에 맡김
+        assertThat(TokenPreCheck.isExpired(token("{\"exp\":999999999999999999}"), now)).isFalse();
+    }
+
+    // 만료된 토큰은 서명이 틀려도 HMAC 계산 없이 EXPIRED (클레임 없는 공유 인스턴스), 만료되지 않았으면 서명 검증에서 INVALID
+    @Test
+    void expiredTokenIsAnsweredBeforeSignatureCheck() {
+        String expired = token("{\"sub\":\"user@user.com\",\"auth\":\"ROLE_USER\",\"exp\":1}");
+        String live = token("{\"sub\":\"user@user.com\",\"auth\":\"ROLE_USER\",\"exp\":4102444800}");
+
+        assertThat(tokenProvider.verify(expired)).isSameAs(VerifiedToken.EXPIRED);
+        assertThat(tokenProvider.verify(live)).isSameAs(VerifiedToken.INVALID);
+        assertThat(tokenProvider.verify("not-a-token")).isSameAs(VerifiedToken.INVALID);
+    }
+
+    private static String token(String payloadJson) {
+        return HEADER + "." + base64(payloadJson) + "." + SIGNATURE;
+    }
+
+    private static String base64(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
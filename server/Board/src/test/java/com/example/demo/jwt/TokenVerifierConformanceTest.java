@@ -0,0 +1,217 @@
+package com.example.demo.jwt;
+
+import com.example.demo.model.Authority;
+import com.example.demo.model.Member;
+import com.example.demo.model.MemberAuth;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * jjwt 엔진과 FastJwtVerifier 가 같은 토큰에 대해 같은 결과를 내는지 검사
+ **/
+class TokenVerifierConformanceTest {
+
+    static final String SECRET = "aGVsbG8tbXktcmVhbC1uYW1lLWlzLXdvbmp1bi10aGlzLWtleS1pcy12ZXJ5LWltcG9ydGFudC1zby1iZS1jYXJlZnVsLXRoYW5rLXlvdQ==";
+    private static final String OTHER_SECRET = "b3RoZXItc2VjcmV0LWtleS10aGF0LWlzLWRlZmluaXRlbHktbG9uZy1lbm91Z2gtZm9yLWhzNTEyLXNpZ25pbmctMTIzNDU2Nzg5MA==";
+
+    private final TokenProvider tokenProvider = new TokenProvider(SECRET, 60_000, 120_000, "jjwt", false, memberId -> null);
+    private final TokenVerifier jjwt = new JjwtTokenVerifier(tokenProvider.getKey());
+    private final TokenVerifier fast = new FastJwtVerifier(tokenProvider.getKey());
+
+    @Test
+    void validToken() {
+        String token = tokenProvider.createAccessToken("user@user.com", roles(MemberAuth.ROLE_USER, MemberAuth.ROLE_ADMIN));
+
+        VerifiedToken result = assertConformant(token, VerifiedToken.Status.VALID);
+        assertThat(result.getSubject()).isEqualTo("user@user.com");
+        assertThat(result.getAuthorities()).isEqualTo("ROLE_USER,ROLE_ADMIN");
+        assertThat(result.getTokenId()).isNotEmpty();
+    }
+
+    @Test
+    void expiredTokenKeepsClaims() {
+        String token = tokenProvider.createToken("user@user.com", roles(MemberAuth.ROLE_USER), -60_000);
+
+        VerifiedToken result = assertConformant(token, VerifiedToken.Status.EXPIRED);
+        assertThat(result.getSubject()).isEqualTo("user@user.com");
+        assertThat(result.getAuthorities()).isEqualTo("ROLE_USER");
+    }
+
+    @Test
+    void compactToken() {
+        TokenProvider compact = new TokenProvider(SECRET, 60_000, 120_000, "jjwt", true, memberId -> "user@user.com");
+        Member member = new Member(12L, "user", "user@user.com", "", true, roles(MemberAuth.ROLE_USER, MemberAuth.ROLE_ADMIN));
+
+        VerifiedToken result = assertConformant(compact.createAccessToken(member), VerifiedToken.Status.VALID);
+        assertThat(result.isCompact()).isTrue();
+        assertThat(result.getSubject()).isEqualTo("12");
+        assertThat(result.getRoleMask()).isEqualTo(MemberAuth.ROLE_USER.getMask() | MemberAuth.ROLE_ADMIN.getMask());
+        assertThat(compact.getAuthentication(result).getName()).isEqualTo("user@user.com");
+        assertThat(compact.getAuthentication(result).getAuthorities())
+                .extracting("authority").containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void tokenBuiltByJjwtWithExtraHeadersAndClaims() {
+        String token = Jwts.builder()
+                .setHeaderParam("typ", "JWT")
+                .setSubject("admin@admin.com")
+                .claim("auth", "ROLE_ADMIN")
+                .claim("extra", Map.of("nested", List.of(1, 2, 3)))
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(tokenProvider.getKey(), SignatureAlgorithm.HS512)
+                .compact();
+
+        VerifiedToken result = assertConformant(token, VerifiedToken.Status.VALID);
+        assertThat(result.getSubject()).isEqualTo("admin@admin.com");
+        assertThat(result.getAuthorities()).isEqualTo("ROLE_ADMIN");
+    }
+
+    // 객체, 배열 클레임 뒤에 오는 exp 를 놓치지 않아야 함 (놓치면 만료되지 않는 토큰으로 읽힘)
+    @Test
+    void structuredClaimsBeforeExp() {
+        String token = Jwts.builder()
+                .claim("sub", Map.of("email", "admin@admin.com"))
+                .claim("auth", List.of("ROLE_ADMIN"))
+                .claim("jti", Map.of("id", List.of(1, 2)))
+                .claim(TokenProvider.ROLE_MASK_KEY, List.of(3))
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(tokenProvider.getKey(), SignatureAlgorithm.HS512)
+                .compact();
+
+        VerifiedToken result = assertConformant(token, VerifiedToken.Status.EXPIRED);
+        assertThat(result.getSubject()).isNull();
+        assertThat(result.getAuthorities()).isNull();
+        assertThat(result.getTokenId()).isNull();
+        assertThat(result.isCompact()).isFalse();
+    }
+
+    // 초 -> 밀리초 변환에서 long 을 넘는 exp, nbf (넘친 값이 음수나 먼 미래가 되지 않도록 거절)
+    @ParameterizedTest
+    @ValueSource(longs = {FastJwtVerifier.MAX_SECONDS + 1, -FastJwtVerifier.MAX_SECONDS - 1, 18_446_744_073_709_552L + 2_000_000_000L, Long.MAX_VALUE})
+    void overflowingTimes(long seconds) {
+        String withExp = Jwts.builder()
+                .setSubject("user@user.com")
+                .claim("auth", "ROLE_USER")
+                .claim("exp", seconds)
+                .signWith(tokenProvider.getKey(), SignatureAlgorithm.HS512)
+                .compact();
+        String withNbf = Jwts.builder()
+                .setSubject("user@user.com")
+                .claim("auth", "ROLE_USER")
+                .claim("nbf", seconds)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(tokenProvider.getKey(), SignatureAlgorithm.HS512)
+                .compact();
+
+        assertConformant(withExp, VerifiedToken.Status.INVALID);
+        assertConformant(withNbf, VerifiedToken.Status.INVALID);
+    }
+
+    @Test
+    void largestAllowedExp() {
+        String token = Jwts.builder()
+                .setSubject("user@user.com")
+                .claim("auth", "ROLE_USER")
+                .claim("exp", FastJwtVerifier.MAX_SECONDS)
+                .signWith(tokenProvider.getKey(), SignatureAlgorithm.HS512)
+                .compact();
+
+        VerifiedToken result = assertConformant(token, VerifiedToken.Status.VALID);
+        assertThat(result.getExpiration()).isEqualTo(FastJwtVerifier.MAX_SECONDS * 1000);
+    }
+
+    @Test
+    void tamperedPayload() {
+        String token = tokenProvider.createAccessToken("user@user.com", roles(MemberAuth.ROLE_USER));
+        String[] parts = token.split("\\.");
+        String forged = base64("{\"sub\":\"admin@admin.com\",\"auth\":\"ROLE_ADMIN\",\"exp\":4102444800}");
+
+        assertConformant(parts[0] + "." + forged + "." + parts[2], VerifiedToken.Status.INVALID);
+    }
+
+    @Test
+    void tamperedSignature() {
+        String token = tokenProvider.createAccessToken("user@user.com", roles(MemberAuth.ROLE_USER));
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char flipped = token.charAt(signatureStart) == 'A' ? 'B' : 'A';
+
+        assertConformant(token.substring(0, signatureStart) + flipped + token.substring(signatureStart + 1),
+                VerifiedToken.Status.INVALID);
+    }
+
+    @Test
+    void signedWithOtherKey() {
+        TokenProvider other = new TokenProvider(OTHER_SECRET, 60_000, 120_000, "jjwt", false, memberId -> null);
+        String token = other.createAccessToken("user@user.com", roles(MemberAuth.ROLE_USER));
+
+        assertConformant(token, VerifiedToken.Status.INVALID);
+    }
+
+    @Test
+    void otherHmacAlgorithmWithSameKey() {
+        String token = Jwts.builder()
+                .setSubject("user@user.com")
+                .claim("auth", "ROLE_ADMIN")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(new SecretKeySpec(Decoders.BASE64.decode(SECRET), "HmacSHA256"), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertConformant(token, VerifiedToken.Status.INVALID);
+    }
+
+    @Test
+    void unsignedToken() {
+        String token = base64("{\"alg\":\"none\"}") + "." + base64("{\"sub\":\"admin@admin.com\",\"auth\":\"ROLE_ADMIN\"}") + ".";
+
+        assertConformant(token, VerifiedToken.Status.INVALID);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "abc", "a.b", "a.b.c", "a..c", "...", "eyJhbGciOiJIUzUxMiJ9.e30.", "eyJhbGciOiJIUzUxMiJ9.e30.e30.e30", "한글.토큰.값"})
+    void malformedTokens(String token) {
+        assertConformant(token, VerifiedToken.Status.INVALID);
+    }
+
+    private VerifiedToken assertConformant(String token, VerifiedToken.Status expected) {
+        VerifiedToken byJjwt = jjwt.verify(token);
+        VerifiedToken byFast = fast.verify(token);
+
+        assertThat(byJjwt.getStatus()).isEqualTo(expected);
+        assertThat(byFast.getStatus()).isEqualTo(expected);
+        assertThat(byFast.getSubject()).isEqualTo(byJjwt.getSubject());
+        assertThat(byFast.getAuthorities()).isEqualTo(byJjwt.getAuthorities());
+        assertThat(byFast.getExpiration()).isEqualTo(byJjwt.getExpiration());
+        assertThat(byFast.getRoleMask()).isEqualTo(byJjwt.getRoleMask());
+        assertThat(byFast.getTokenId()).isEqualTo(byJjwt.getTokenId());
+        return byFast;
+    }
+
+    private static Set<Authority> roles(MemberAuth... auths) {
+        Set<Authority> set = new LinkedHashSet<>();
+        for (MemberAuth auth : auths) {
+            set.add(new Authority(auth));
+        }
+        return set;
+    }
+
+    private static String base64(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
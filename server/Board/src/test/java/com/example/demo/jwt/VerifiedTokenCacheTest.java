@@ -0,0 +1,81 @@
+package com.example.demo.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * VerifiedTokenCache : 토큰의 exp 로 만료, max-memory 로 개수 제한, 폐기된 토큰 제거
+ **/
+class VerifiedTokenCacheTest {
+
+    private final Authentication authentication =
+            new UsernamePasswordAuthenticationToken("user@user.com", "", Collections.emptyList());
+
+    @Test
+    void returnsCachedAuthenticationUntilTokenExpires() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, DataSize.ofMegabytes(1));
+        long now = System.currentTimeMillis();
+
+        cache.put("live", valid(now + 60_000), authentication);
+        cache.put("expired", valid(now - 1), authentication);
+
+        assertThat(cache.get("live").getAuthentication()).isSameAs(authentication);
+        assertThat(cache.get("live").getTokenId()).isEqualTo("jti");
+        assertThat(cache.get("expired")).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheExpiredOrInvalidResults() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, DataSize.ofMegabytes(1));
+
+        cache.put("expired", VerifiedToken.EXPIRED, authentication);
+        cache.put("invalid", VerifiedToken.INVALID, authentication);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void maxMemoryBoundsEntryCount() {
+        long maxEntries = 64;
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, DataSize.ofBytes(maxEntries * VerifiedTokenCache.ENTRY_BYTES));
+        long exp = System.currentTimeMillis() + 60_000;
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("token-" + i, valid(exp), authentication);
+            assertThat(cache.size()).isLessThanOrEqualTo((int) maxEntries);
+        }
+        assertThat(cache.get("token-999").getAuthentication()).isSameAs(authentication);
+    }
+
+    @Test
+    void removeDropsRevokedToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, DataSize.ofMegabytes(1));
+        cache.put("token", valid(System.currentTimeMillis() + 60_000), authentication);
+
+        cache.remove("token");
+
+        assertThat(cache.get("token")).isNull();
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(false, DataSize.ofMegabytes(1));
+        cache.put("token", valid(System.currentTimeMillis() + 60_000), authentication);
+
+        assertThat(cache.get("token")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    private static VerifiedToken valid(long expiration) {
+        return VerifiedToken.valid("user@user.com", expiration, "ROLE_USER", VerifiedToken.NO_ROLE_MASK, "jti");
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.repository;
+
+import com.example.demo.util.TokenDigest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JpaRefreshTokenStore.replace : 저장된 토큰이 expectedToken 일 때만 교체 (조건부 UPDATE)
+ * 실제 요청처럼 store 호출마다 트랜잭션이 끝나도록 테스트 트랜잭션은 사용하지 않음
+ **/
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({JpaRefreshTokenStore.class, RefreshTokenJdbcRepository.class})
+class JpaRefreshTokenStoreTest {
+
+    private static final String KEY = "user@user.com";
+
+    @Autowired
+    JpaRefreshTokenStore store;
+
+    @AfterEach
+    void deleteToken() {
+        store.delete(KEY);
+    }
+
+    @Test
+    void replaceOnlyWhenStoredTokenMatches() {
+        store.save(KEY, "token-1");
+
+        assertThat(store.replace(KEY, "token-1", "token-2")).isTrue();
+        // 이미 바뀐 토큰으로 다시 교체할 수 없음
+        assertThat(store.replace(KEY, "token-1", "token-3")).isFalse();
+        assertThat(store.find(KEY)).hasValueSatisfying(digest -> assertThat(digest).isEqualTo(TokenDigest.of("token-2")));
+    }
+
+    @Test
+    void replaceWithoutStoredToken() {
+        assertThat(store.replace(KEY, "token-1", "token-2")).isFalse();
+        assertThat(store.find(KEY)).isEmpty();
+    }
+
+    @Test
+    void concurrentReplaceWithSameTokenSucceedsOnce() throws Exception {
+        int threads = 8;
+        store.save(KEY, "token-1");
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String newToken = "token-new-" + i;
+                results.add(executor.submit(() -> {
+                    barrier.await();
+                    return store.replace(KEY, "token-1", newToken);
+                }));
+            }
+
+            int replaced = 0;
+            for (Future<Boolean> result : results) {
+                replaced += result.get(10, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertThat(replaced).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
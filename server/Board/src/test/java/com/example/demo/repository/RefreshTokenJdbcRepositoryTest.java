@@ -0,0 +1,119 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.RefreshToken;
+import com.example.demo.util.TokenDigest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RefreshTokenJdbcRepository 의 SQL 을 H2 MySQL 모드에서 실행 (key 는 H2, MySQL 모두 예약어)
+ * 테이블은 이전 중인 모양(digest, value 둘 다 NULL 허용)으로 직접 만듦
+ **/
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:refresh_token_jdbc;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@Import(RefreshTokenJdbcRepository.class)
+class RefreshTokenJdbcRepositoryTest {
+
+    @Autowired
+    RefreshTokenJdbcRepository repository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createTable() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS refresh_token ("
+                + "\"key\" VARCHAR(255) NOT NULL PRIMARY KEY, digest BINARY(32), \"value\" VARCHAR(255))");
+        jdbcTemplate.execute("DELETE FROM refresh_token");
+    }
+
+    @Test
+    void saveAllInsertsNewKeysAndUpdatesExistingOnes() {
+        repository.saveAll(List.of(RefreshToken.of("a@a.com", "token-a1"), RefreshToken.of("b@b.com", "token-b1")));
+        repository.saveAll(List.of(RefreshToken.of("a@a.com", "token-a2"), RefreshToken.of("c@c.com", "token-c1")));
+
+        assertThat(count()).isEqualTo(3);
+        assertThat(digestOf("a@a.com")).isEqualTo(TokenDigest.of("token-a2"));
+        assertThat(digestOf("b@b.com")).isEqualTo(TokenDigest.of("token-b1"));
+        assertThat(digestOf("c@c.com")).isEqualTo(TokenDigest.of("token-c1"));
+    }
+
+    @Test
+    void saveAllWithNothingToSave() {
+        repository.saveAll(List.of());
+
+        assertThat(count()).isZero();
+    }
+
+    @Test
+    void deleteAllRemovesOnlyGivenKeys() {
+        repository.saveAll(List.of(RefreshToken.of("a@a.com", "token-a"), RefreshToken.of("b@b.com", "token-b")));
+
+        repository.deleteAll(List.of("a@a.com"));
+
+        assertThat(count()).isEqualTo(1);
+        assertThat(digestOf("b@b.com")).isEqualTo(TokenDigest.of("token-b"));
+    }
+
+    @Test
+    void forEachSkipsRowsWithoutDigest() {
+        repository.saveAll(List.of(RefreshToken.of("a@a.com", "token-a")));
+        jdbcTemplate.update("INSERT INTO refresh_token (\"key\", \"value\") VALUES (?, ?)", "legacy@a.com", "token-legacy");
+
+        Map<String, byte[]> rows = new HashMap<>();
+        repository.forEach(rows::put);
+
+        assertThat(rows).containsOnlyKeys("a@a.com");
+        assertThat(rows.get("a@a.com")).isEqualTo(TokenDigest.of("token-a"));
+    }
+
+    // 한 번에 읽는 개수(500)보다 많은 행을 넣어서 여러 번 나눠 바꾸는 경로까지 확인
+    @Test
+    void migrateLegacyValuesReplacesValuesWithDigests() {
+        int rows = 1_201;
+        jdbcTemplate.batchUpdate("INSERT INTO refresh_token (\"key\", \"value\") VALUES (?, ?)",
+                IntStream.range(0, rows).boxed().collect(Collectors.toList()), 500,
+                (ps, i) -> {
+                    ps.setString(1, "user" + i + "@user.com");
+                    ps.setString(2, "legacy-token-" + i);
+                });
+        repository.saveAll(List.of(RefreshToken.of("new@user.com", "token-new"))); // 이미 다이제스트로 저장된 행
+
+        repository.migrateLegacyValues();
+
+        assertThat(count()).isEqualTo(rows + 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_token WHERE \"value\" IS NOT NULL", Integer.class)).isZero();
+        for (int i = 0; i < rows; i++) {
+            assertThat(digestOf("user" + i + "@user.com")).isEqualTo(TokenDigest.of("legacy-token-" + i));
+        }
+        assertThat(digestOf("new@user.com")).isEqualTo(TokenDigest.of("token-new"));
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_token", Integer.class);
+    }
+
+    private byte[] digestOf(String key) {
+        return jdbcTemplate.queryForObject("SELECT digest FROM refresh_token WHERE \"key\" = ?", byte[].class, key);
+    }
+}
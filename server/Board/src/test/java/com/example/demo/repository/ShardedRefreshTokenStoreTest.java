@@ -0,0 +1,179 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.RefreshToken;
+import com.example.demo.util.TokenDigest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * ShardedRefreshTokenStore : 테이블에서 다시 읽기, flush, 저장 실패 시 되돌리기
+ * flush 는 store 의 TransactionTemplate 으로 커밋되도록 테스트 트랜잭션은 사용하지 않음
+ * 샤드는 번호 순서로 저장 (b@b.com 은 3번, a@a.com 은 10번 샤드)
+ **/
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharded_refresh_token;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(RefreshTokenJdbcRepository.class)
+class ShardedRefreshTokenStoreTest {
+
+    private static final String FAILING_KEY = "b@b.com";
+
+    @SpyBean
+    RefreshTokenJdbcRepository repository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private final List<ShardedRefreshTokenStore> stores = new ArrayList<>();
+
+    @BeforeEach
+    void createTable() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS refresh_token ("
+                + "\"key\" VARCHAR(255) NOT NULL PRIMARY KEY, digest BINARY(32))");
+        jdbcTemplate.execute("DELETE FROM refresh_token");
+    }
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        for (ShardedRefreshTokenStore store : stores) {
+            store.shutdown();
+        }
+    }
+
+    @Test
+    void flushedTokensAreLoadedByNextStore() {
+        ShardedRefreshTokenStore store = newStore();
+        store.save("a@a.com", "token-a1");
+        store.save("b@b.com", "token-b");
+        store.save("c@c.com", "token-c");
+        store.delete("c@c.com");
+        assertThat(store.replace("a@a.com", "token-a1", "token-a2")).isTrue();
+
+        store.flush();
+
+        ShardedRefreshTokenStore restarted = newStore();
+        assertThat(restarted.size()).isEqualTo(2);
+        assertThat(restarted.find("a@a.com")).hasValueSatisfying(digest -> assertThat(digest).isEqualTo(TokenDigest.of("token-a2")));
+        assertThat(restarted.find("b@b.com")).hasValueSatisfying(digest -> assertThat(digest).isEqualTo(TokenDigest.of("token-b")));
+        assertThat(restarted.find("c@c.com")).isEmpty();
+    }
+
+    @Test
+    void failedShardDoesNotStopOtherShards() {
+        ShardedRefreshTokenStore store = newStore();
+        store.save("a@a.com", "token-a");
+        store.save(FAILING_KEY, "token-b");
+        boolean[] failing = {true};
+        failWhenSaving(() -> failing[0]);
+
+        assertThatThrownBy(store::flush).isInstanceOf(DataAccessResourceFailureException.class);
+
+        assertThat(keys()).containsExactly("a@a.com");
+        assertThat(store.pendingCount()).isEqualTo(1);
+
+        failing[0] = false;
+        store.flush();
+
+        assertThat(keys()).containsExactlyInAnyOrder("a@a.com", FAILING_KEY);
+        assertThat(store.pendingCount()).isZero();
+    }
+
+    @Test
+    void requeueKeepsNewerToken() {
+        ShardedRefreshTokenStore store = newStore();
+        store.save(FAILING_KEY, "token-1");
+        boolean[] failing = {true};
+        failWhenSaving(() -> {
+            if (failing[0]) {
+                store.save(FAILING_KEY, "token-2"); // 저장하는 동안 재발급됨
+                failing[0] = false;
+                return true;
+            }
+            return false;
+        });
+
+        assertThatThrownBy(store::flush).isInstanceOf(DataAccessResourceFailureException.class);
+        store.flush();
+
+        assertThat(digestOf(FAILING_KEY)).isEqualTo(TokenDigest.of("token-2"));
+    }
+
+    @Test
+    void requeueKeepsNewerDelete() {
+        ShardedRefreshTokenStore store = newStore();
+        store.save(FAILING_KEY, "token-1");
+        boolean[] failing = {true};
+        failWhenSaving(() -> {
+            if (failing[0]) {
+                store.delete(FAILING_KEY); // 저장하는 동안 로그아웃
+                failing[0] = false;
+                return true;
+            }
+            return false;
+        });
+
+        assertThatThrownBy(store::flush).isInstanceOf(DataAccessResourceFailureException.class);
+        store.flush();
+
+        assertThat(keys()).isEmpty();
+        assertThat(store.find(FAILING_KEY)).isEmpty();
+    }
+
+    private ShardedRefreshTokenStore newStore() {
+        // 테스트에서 직접 flush 하도록 flusher 주기는 길게
+        ShardedRefreshTokenStore store = new ShardedRefreshTokenStore(repository, transactionManager, Duration.ofHours(1));
+        store.load();
+        stores.add(store);
+        return store;
+    }
+
+    // FAILING_KEY 를 저장할 때 shouldFail 이 true 면 실패
+    private void failWhenSaving(BooleanSupplier shouldFail) {
+        doAnswer(invocation -> {
+            List<RefreshToken> tokens = invocation.getArgument(0);
+            if (tokens.stream().anyMatch(token -> token.getKey().equals(FAILING_KEY)) && shouldFail.getAsBoolean()) {
+                throw new DataAccessResourceFailureException("refresh_token unavailable");
+            }
+            return invocation.callRealMethod();
+        }).when(repository).saveAll(anyList());
+    }
+
+    private List<String> keys() {
+        return jdbcTemplate.queryForList("SELECT \"key\" FROM refresh_token", String.class);
+    }
+
+    private byte[] digestOf(String key) {
+        return jdbcTemplate.queryForObject("SELECT digest FROM refresh_token WHERE \"key\" = ?", byte[].class, key);
+    }
+}
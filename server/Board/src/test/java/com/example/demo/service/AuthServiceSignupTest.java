@@ -0,0 +1,75 @@
+package com.example.demo.service;
+
+import com.example.demo.exceptionhandler.BizException;
+import com.example.demo.exceptionhandler.MemberExceptionType;
+import com.example.demo.jwt.PasswordVerificationExecutor;
+import com.example.demo.jwt.TokenDenylist;
+import com.example.demo.jwt.TokenProvider;
+import com.example.demo.jwt.VerifiedTokenCache;
+import com.example.demo.model.Authority;
+import com.example.demo.model.MemberAuth;
+import com.example.demo.model.dto.MemberReqDTO;
+import com.example.demo.repository.MemberRepository;
+import com.example.demo.repository.RefreshTokenStore;
+import com.example.demo.repository.RegisteredEmailFilter;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * AuthService.signup : 저장할 때 email unique 위반만 DUPLICATE_USER, 다른 제약 위반은 그대로 던짐
+ **/
+class AuthServiceSignupTest {
+
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final AuthorityRegistry authorityRegistry = mock(AuthorityRegistry.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+
+    private final AuthService authService = new AuthService(memberRepository, mock(RegisteredEmailFilter.class),
+            authorityRegistry, passwordEncoder, mock(TokenProvider.class), mock(RefreshTokenStore.class),
+            mock(CustomUserDetailsService.class), mock(TokenDenylist.class), mock(VerifiedTokenCache.class),
+            mock(PasswordVerificationExecutor.class));
+
+    @BeforeEach
+    void setUp() {
+        when(authorityRegistry.get(MemberAuth.ROLE_USER)).thenReturn(new Authority(MemberAuth.ROLE_USER));
+        when(passwordEncoder.encode(any())).thenReturn("encoded");
+    }
+
+    // 블룸 필터(mock)가 false 라서 중복 조회 없이 저장하다가 DB 제약에 걸린 경우
+    @ParameterizedTest
+    @CsvSource({"23000, 1062", "23505, 23505"}) // MySQL ER_DUP_ENTRY, H2 unique 위반
+    void uniqueViolationIsDuplicateUser(String sqlState, int errorCode) {
+        failOnSave(sqlState, errorCode);
+
+        assertThatThrownBy(() -> authService.signup(new MemberReqDTO("user@user.com", "1234", "user")))
+                .isInstanceOfSatisfying(BizException.class,
+                        e -> assertThat(e.getBaseExceptionType()).isEqualTo(MemberExceptionType.DUPLICATE_USER));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"23000, 1048", "23502, 23502"}) // MySQL, H2 NOT NULL 위반
+    void otherViolationsAreRethrown(String sqlState, int errorCode) {
+        failOnSave(sqlState, errorCode);
+
+        assertThatThrownBy(() -> authService.signup(new MemberReqDTO("user@user.com", "1234", "user")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private void failOnSave(String sqlState, int errorCode) {
+        SQLException sqlException = new SQLException("constraint violation", sqlState, errorCode);
+        when(memberRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sqlException, "constraint")));
+    }
+}
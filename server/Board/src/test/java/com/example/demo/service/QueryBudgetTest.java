@@ -0,0 +1,81 @@
+package com.example.demo.service;
+
+import com.example.demo.model.dto.LoginReqDTO;
+import com.example.demo.model.dto.TokenDTO;
+import com.example.demo.model.dto.TokenReqDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 인증 경로의 쿼리 수 예산 : Hibernate 통계의 prepared statement 수가 예산과 다르면 실패
+ * (줄었으면 예산도 줄여서 다시 늘어나는 것을 잡도록)
+ * local 프로필(H2, initDataBaseForLocal 의 user@user.com / 1234)로 실행
+ * MemberCache 가 켜져 있으면 멤버 조회가 캐시에서 끝나 쿼리가 잡히지 않으므로 끄고 실행
+ * (JdbcTemplate 으로 실행하는 쿼리는 Hibernate 통계에 잡히지 않음)
+ **/
+@SpringBootTest(properties = "member.cache.enabled=false")
+@ActiveProfiles("local")
+class QueryBudgetTest {
+
+    private static final String EMAIL = "user@user.com";
+    private static final String PASSWORD = "1234";
+
+    @Autowired
+    AuthService authService;
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    // 멤버 + 권한 1, 리프레시 토큰 조회(merge) 1 + 저장 1
+    @Test
+    void login() {
+        assertQueryBudget(3, () -> authService.login(new LoginReqDTO(EMAIL, PASSWORD)));
+    }
+
+    // 리프레시 토큰 조회 1, 멤버 + 권한 1, 리프레시 토큰 교체 1 (조건부 UPDATE)
+    @Test
+    void reissue() {
+        TokenDTO token = authService.login(new LoginReqDTO(EMAIL, PASSWORD));
+        TokenReqDTO request = new TokenReqDTO();
+        request.setAccessToken(token.getAccessToken());
+        request.setRefreshToken(token.getRefreshToken());
+
+        assertQueryBudget(3, () -> authService.reissue(request));
+    }
+
+    // 멤버 + 권한 1
+    @Test
+    @WithMockUser(username = EMAIL)
+    void getMyInfo() {
+        assertQueryBudget(1, () -> memberService.getMyInfo());
+    }
+
+    private void assertQueryBudget(long budget, Runnable path) {
+        statistics.clear();
+        path.run();
+        assertThat(statistics.getPrepareStatementCount())
+                .as("prepared statements (budget %d)", budget)
+                .isEqualTo(budget);
+    }
+}
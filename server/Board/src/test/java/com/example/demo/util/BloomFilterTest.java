@@ -0,0 +1,54 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BloomFilter : 넣은 키는 항상 true (false negative 없음), 넣지 않은 키의 false positive 는 낮게 유지
+ **/
+class BloomFilterTest {
+
+    @Test
+    void hasNoFalseNegatives() {
+        int keys = 100_000;
+        BloomFilter filter = new BloomFilter(keys);
+        String[] ids = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            filter.put(ids[i]);
+        }
+
+        for (String id : ids) {
+            assertThat(filter.mightContain(id)).isTrue();
+        }
+    }
+
+    @Test
+    void keepsFalsePositiveRateLowAtExpectedSize() {
+        int keys = 100_000;
+        BloomFilter filter = new BloomFilter(keys);
+        for (int i = 0; i < keys; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < keys; i++) {
+            if (filter.mightContain("live-" + i)) {
+                falsePositives++;
+            }
+        }
+        // 키당 16bit, 블록 안에서 비트 6개 -> 1% 미만이어야 함
+        assertThat(falsePositives).isLessThan(keys / 100);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(0);
+
+        assertThat(filter.mightContain("")).isFalse();
+        assertThat(filter.mightContain("jti")).isFalse();
+    }
+}
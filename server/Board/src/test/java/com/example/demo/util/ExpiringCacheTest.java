@@ -0,0 +1,121 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ExpiringCache 의 만료, 개수 제한, 동시 사용 검사 (시계는 AtomicLong 으로 직접 움직임)
+ **/
+class ExpiringCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    void expiresAtExpirationTime() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, now::get);
+        cache.put("a", "A", 1_500);
+
+        now.set(1_499);
+        assertThat(cache.get("a")).isEqualTo("A");
+
+        now.set(1_500);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsExpiredEntriesBeforeLiveOnes() {
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(8, now::get);
+        for (int i = 0; i < 4; i++) {
+            cache.put(i, i, 1_100); // 곧 만료
+        }
+        for (int i = 4; i < 8; i++) {
+            cache.put(i, i, 9_000);
+        }
+
+        now.set(2_000);
+        cache.put(8, 8, 9_000); // 가득 참 -> 만료된 4개만 지우면 충분
+
+        assertThat(cache.size()).isEqualTo(5);
+        for (int i = 4; i <= 8; i++) {
+            assertThat(cache.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void evictsAboutAnEighthWhenFullOfLiveEntries() {
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(64, now::get);
+        for (int i = 0; i < 64; i++) {
+            cache.put(i, i, Long.MAX_VALUE);
+        }
+        assertThat(cache.size()).isEqualTo(64);
+
+        cache.put(64, 64, Long.MAX_VALUE);
+
+        assertThat(cache.size()).isEqualTo(64 - 64 / 8 + 1);
+        assertThat(cache.getEvictionCount()).isEqualTo(64 / 8);
+        assertThat(cache.get(64)).isEqualTo(64);
+    }
+
+    @Test
+    void removeIsNotCountedAsEviction() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, now::get);
+        cache.put("a", "A", 9_000);
+
+        assertThat(cache.remove("a")).isTrue();
+        assertThat(cache.remove("a")).isFalse();
+        assertThat(cache.getEvictionCount()).isZero();
+    }
+
+    // 여러 쓰레드가 동시에 넣고 읽어도 다른 키의 값을 돌려주지 않고, 잠깐 넘친 크기는 다음 put 에서 다시 제한 안으로 돌아옴
+    @Test
+    void staysBoundedUnderConcurrentPuts() throws Exception {
+        int maxEntries = 1_000;
+        int threads = 8;
+        int perThread = 20_000;
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(maxEntries, now::get);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            results.add(executor.submit(() -> {
+                start.await();
+                int wrong = 0;
+                for (int i = 0; i < perThread; i++) {
+                    int key = base + i;
+                    cache.put(key, key, Long.MAX_VALUE);
+                    Integer value = cache.get(key - (i % 7));
+                    if (value != null && value != key - (i % 7)) {
+                        wrong++;
+                    }
+                }
+                return wrong;
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> result : results) {
+            assertThat(result.get(30, TimeUnit.SECONDS)).isZero();
+        }
+        executor.shutdown();
+
+        assertThat(cache.getEvictionCount()).isPositive();
+        cache.put(-1, -1, Long.MAX_VALUE);
+        assertThat(cache.size()).isLessThanOrEqualTo(maxEntries);
+        assertThat(cache.get(-1)).isEqualTo(-1);
+    }
+}
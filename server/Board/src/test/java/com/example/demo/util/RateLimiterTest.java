@@ -0,0 +1,106 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * RateLimiter(GCRA) : capacity 만큼 연속 허용, refill 속도로 다시 채워짐, 오래 쓰이지 않은 키는 정리 (시계는 AtomicLong 으로 직접 움직임)
+ **/
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(SECOND);
+
+    @Test
+    void allowsBurstUpToCapacity() {
+        RateLimiter limiter = new RateLimiter(5, 1, 60_000, now::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.acquire("ip")).isEqualTo(RateLimiter.ALLOWED);
+        }
+        // 다음 토큰은 1초 뒤에 채워짐
+        assertThat(limiter.acquire("ip")).isEqualTo(SECOND);
+        // 다른 키는 각자 버킷
+        assertThat(limiter.acquire("other")).isEqualTo(RateLimiter.ALLOWED);
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        RateLimiter limiter = new RateLimiter(2, 4, 60_000, now::get); // 250ms 마다 하나
+        limiter.acquire("ip");
+        limiter.acquire("ip");
+        assertThat(limiter.acquire("ip")).isEqualTo(SECOND / 4);
+
+        now.addAndGet(SECOND / 4 - 1);
+        assertThat(limiter.acquire("ip")).isEqualTo(1);
+
+        now.addAndGet(1);
+        assertThat(limiter.acquire("ip")).isEqualTo(RateLimiter.ALLOWED);
+        assertThat(limiter.acquire("ip")).isPositive();
+
+        // 오래 쉬어도 capacity 보다 많이 쌓이지 않음
+        now.addAndGet(10 * SECOND);
+        assertThat(limiter.acquire("ip")).isEqualTo(RateLimiter.ALLOWED);
+        assertThat(limiter.acquire("ip")).isEqualTo(RateLimiter.ALLOWED);
+        assertThat(limiter.acquire("ip")).isPositive();
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTokens() {
+        RateLimiter limiter = new RateLimiter(1, 1, 60_000, now::get);
+        limiter.acquire("ip");
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.acquire("ip")).isEqualTo(SECOND);
+        }
+
+        now.addAndGet(SECOND);
+        assertThat(limiter.acquire("ip")).isEqualTo(RateLimiter.ALLOWED);
+    }
+
+    @Test
+    void retryAfterRoundsUpToWholeSeconds() {
+        assertThat(RateLimiter.retryAfterSeconds(1)).isEqualTo(1);
+        assertThat(RateLimiter.retryAfterSeconds(SECOND - 1)).isEqualTo(1);
+        assertThat(RateLimiter.retryAfterSeconds(SECOND)).isEqualTo(1);
+        assertThat(RateLimiter.retryAfterSeconds(SECOND + 1)).isEqualTo(2);
+        assertThat(RateLimiter.retryAfterSeconds(90 * SECOND / 4)).isEqualTo(23);
+    }
+
+    @Test
+    void sweepsIdleKeys() {
+        RateLimiter limiter = new RateLimiter(1, 1, 60_000, now::get);
+        for (int i = 0; i < 1_000; i++) {
+            limiter.acquire("idle-" + i);
+        }
+        assertThat(limiter.size()).isEqualTo(1_000);
+
+        // 정리 주기(30초)가 지나도 idle-timeout(60초) 전이면 그대로
+        now.addAndGet(31 * SECOND);
+        touchEveryStripe(limiter, "early-");
+        assertThat(limiter.size()).isEqualTo(1_000 + 64);
+
+        // 한 번 더 정리 주기가 지나고 idle-timeout 도 지나면 새 키가 들어온 스트라이프에서 오래된 키를 지움
+        now.addAndGet(31 * SECOND);
+        touchEveryStripe(limiter, "late-");
+        assertThat(limiter.size()).isEqualTo(64 + 64);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new RateLimiter(0, 1, 60_000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RateLimiter(1, 0, 60_000)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // 키 64개면 16개의 스트라이프에 모두 새 키가 들어갈 만큼 충분히 많음
+    private static void touchEveryStripe(RateLimiter limiter, String prefix) {
+        for (int i = 0; i < 64; i++) {
+            limiter.acquire(prefix + i);
+        }
+    }
+}